@@ -0,0 +1,162 @@
+/*
+    AnswerPanel.java
+    ----------------
+    The puzzle answer input: one inline panel (question, text field, Submit / Cancel) shown in the centre of
+    the current puzzle room overlay instead of a modal TextInputDialog.
+
+        answers.ask(overlay, "Storage Puzzle", question, ans -> ...);   // returns at once
+
+    NOTES:
+      - Built once and reused for every question and every room; ask() only swaps the texts, docks the panel
+        into the overlay's centre and focuses the field. No Stage / window is created and nothing blocks.
+      - Enter submits, Escape or Cancel answers null (like a cancelled dialog). The callback runs once per
+        ask(); dismiss() closes the panel without answering (the scene is being left).
+      - Open-to-focus latency: from ask() to the first pulse at which the field is focused (the caret is on
+        screen). Kept in a ring of LATENCY_SAMPLES, printed by report() and recorded as corridor.AnswerPrompt.
+      - FX thread only.
+*/
+
+import javafx.geometry.*;                 // Insets, Pos
+import javafx.scene.Scene;
+import javafx.scene.control.*;            // Label, TextField, Button
+import javafx.scene.input.KeyCode;        // Escape cancels
+import javafx.scene.layout.*;             // VBox, HBox, BorderPane
+import javafx.scene.paint.Color;
+import javafx.scene.text.*;               // Font, FontWeight, TextAlignment
+
+import java.util.Locale;
+import java.util.function.Consumer;       // asynchronous answer
+
+
+final class AnswerPanel {
+
+    private static final int LATENCY_SAMPLES = 256;
+
+    private final Label title = new Label();
+    private final Label question = new Label();
+    private final TextField field = new TextField();
+    private final VBox box = new VBox(8);
+
+    private Consumer<String> pending;                    // callback of the open question, null when closed
+
+    // ------------------------
+    // Open -> focus latency
+    // ------------------------
+    private final long[] latencies = new long[LATENCY_SAMPLES]; // ring buffer
+    private long count;
+    private long max;
+    private long openedNanos;                            // 0 = no measurement in progress
+    private String openedTitle;
+    private Scene measuring;                             // scene the pulse listener is registered on
+    private final Runnable onPulse = this::pulse;
+
+    AnswerPanel() {
+        title.setTextFill(Color.WHITE);
+        title.setFont(Font.font(null, FontWeight.BOLD, 16));
+
+        question.setWrapText(true);
+        question.setTextFill(Color.WHITE);
+        question.setFont(Font.font(15));
+        question.setTextAlignment(TextAlignment.CENTER);
+
+        field.setMaxWidth(220);
+        field.setOnAction(e -> answer(field.getText()));          // Enter submits
+        field.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.ESCAPE) {
+                answer(null);
+                e.consume();
+            }
+        });
+
+        Button submit = UiKit.button("Submit");
+        Button cancel = UiKit.button("Cancel");
+        submit.setOnAction(e -> answer(field.getText()));
+        cancel.setOnAction(e -> answer(null));
+        HBox buttons = new HBox(12, submit, cancel);
+        buttons.setAlignment(Pos.CENTER);
+
+        box.getChildren().addAll(title, question, field, buttons);
+        box.setAlignment(Pos.CENTER);
+        box.setPadding(new Insets(14));
+        box.setMaxSize(460, Region.USE_PREF_SIZE);
+        box.setStyle("-fx-background-color: rgba(0,0,0,0.75); -fx-border-color: #666; -fx-border-width: 1;");
+        box.setVisible(false);
+    }
+
+    // ------------------------
+    // Asking
+    // ------------------------
+
+    /**
+     * ask(overlay, title, question, onAnswer)
+     *  - shows the panel in the centre of overlay and focuses the field; returns immediately
+     *  - onAnswer later receives the typed text, or null if cancelled (an open question is replaced)
+     */
+    void ask(BorderPane overlay, String titleText, String questionText, Consumer<String> onAnswer) {
+        openedNanos = System.nanoTime();
+        openedTitle = titleText;
+        pending = onAnswer;
+
+        if (box.getParent() != overlay) {
+            if (box.getParent() instanceof BorderPane) ((BorderPane) box.getParent()).setCenter(null);
+            overlay.setCenter(box);                      // moves it here (the centre of a puzzle room is empty)
+        }
+        title.setText(titleText);
+        question.setText(questionText);
+        field.clear();
+        box.setVisible(true);
+        field.requestFocus();
+        watch(overlay.getScene());
+    }
+
+    /** dismiss() - hides the panel without answering (scene exit) */
+    void dismiss() {
+        pending = null;
+        openedNanos = 0;
+        box.setVisible(false);
+    }
+
+    private void answer(String text) {
+        Consumer<String> callback = pending;
+        if (callback == null) return;
+        dismiss();
+        callback.accept(text);                           // may navigate away (fail / death sequence)
+    }
+
+    // ------------------------
+    // Latency measurement
+    // ------------------------
+
+    /** registers the pulse listener on scene (once for the game's single Scene; idle it only checks a field) */
+    private void watch(Scene scene) {
+        if (scene == null || scene == measuring) return;
+        if (measuring != null) measuring.removePostLayoutPulseListener(onPulse);
+        measuring = scene;
+        scene.addPostLayoutPulseListener(onPulse);
+    }
+
+    /** post-layout pulse: the first one with the field focused ends the measurement */
+    private void pulse() {
+        if (openedNanos == 0 || !field.isFocused()) return;
+        long latency = System.nanoTime() - openedNanos;
+        openedNanos = 0;
+        latencies[(int) (count % LATENCY_SAMPLES)] = latency;
+        count++;
+        max = Math.max(max, latency);
+        GameEvents.answerPrompt(openedTitle, latency);
+    }
+
+    /**
+     * report()
+     *  - answer prompts opened and their open -> focused-field latency p50 / p99 / max
+     */
+    String report() {
+        return String.format(Locale.ROOT, "Answer panel (open -> focused): n=%d  p50 %.2f ms  p99 %.2f ms  max %.2f ms%n",
+                count, PerfMonitor.percentile(latencies, count, 50) / 1e6,
+                PerfMonitor.percentile(latencies, count, 99) / 1e6, max / 1e6);
+    }
+
+    VBox node() {
+        return box;
+    }
+}
@@ -0,0 +1,281 @@
+/*
+    AssetIndex.java
+    ---------------
+    Immutable in-memory index of the game's image and sound files, built once at startup.
+
+    NOTES:
+      - The image and sound folders are listed once (in parallel) instead of probing File.exists
+        on every scene build / cold sound start.
+      - Images are indexed by file name ("hallway.jpg"), sounds by base name ("sound_1") resolved
+        to the first existing extension in SOUND_EXTENSIONS order. Each map only takes its own extensions
+        (IMAGE_EXTENSIONS / SOUND_EXTENSIONS), so the flat layout (images and sounds in one folder) does
+        not index sounds as images.
+      - Fallback chains (e.g. "exit.jpg" -> "exit.png" -> "mansion_out.jpg") are resolved during the scan,
+        so callers ask for a chain name and get the winning file name back.
+      - A daemon WatchService thread rescans when the folders change and swaps in a new snapshot;
+        lookups always read the current snapshot (one volatile read, then plain HashMap gets).
+        Only files with an image or sound extension count: writes to logs or journal spills in a watched
+        folder (the default is "./") neither trigger a rescan nor reach the change listener.
+      - When an AssetPack archive is present its entries win; loose files fill in anything it lacks.
+        Packed images resolve to capk: URLs (served from the mapping), packed sounds are extracted
+        once to temp files during the scan. Replacing the archive itself needs a restart.
+*/
+
+import java.io.File;                      // resolved asset files
+import java.io.IOException;
+import java.nio.file.*;                   // directory listing & WatchService
+import java.util.*;                       // maps, lists
+import java.util.function.Consumer;       // change notification
+import java.util.stream.*;                // parallel directory scan
+
+
+final class AssetIndex {
+
+    // sound extensions in order of preference (same order the old per-call probing used)
+    static final String[] SOUND_EXTENSIONS = { ".mp3", ".wav", ".aac", ".m4a" };
+    static final String[] IMAGE_EXTENSIONS = { ".jpg", ".jpeg", ".png", ".gif", ".bmp" }; // what Image decodes
+
+    private final Path imageDir;
+    private final Path soundDir;
+    private final Map<String, List<String>> imageChains; // chain name -> candidate image files
+    private final AssetPack pack;                        // optional archive (null = loose files only)
+
+    private volatile Snapshot snapshot;                  // replaced wholesale on refresh
+    private volatile Consumer<Set<String>> onChange;     // receives changed file names (watcher thread)
+
+    /** One immutable view of the asset folders. */
+    private static final class Snapshot {
+        final Map<String, String> images;                // file name -> URL (file: or capk:)
+        final Map<String, File> sounds;                  // base name -> preferred file
+        final Map<String, String> chains;                // chain name -> first existing candidate
+        final Map<String, Long> stamps;                  // file name -> lastModified (change detection)
+        final Map<String, String> imageStamps;           // image name -> "size-mtime" of its source
+
+        Snapshot(Map<String, String> images, Map<String, File> sounds,
+                 Map<String, String> chains, Map<String, Long> stamps, Map<String, String> imageStamps) {
+            this.images = images;
+            this.sounds = sounds;
+            this.chains = chains;
+            this.stamps = stamps;
+            this.imageStamps = imageStamps;
+        }
+    }
+
+    private AssetIndex(String imagePath, String soundPath, AssetPack pack, Map<String, List<String>> imageChains) {
+        this.imageDir = Paths.get(imagePath);
+        this.soundDir = Paths.get(soundPath);
+        this.pack = pack;
+        this.imageChains = imageChains;
+        this.snapshot = scan();
+    }
+
+    /**
+     * build(imagePath, soundPath, pack, imageChains)
+     *  - scans both folders (and the optional archive) once and returns the index
+     *  - call off the FX thread, e.g. from Application.init
+     */
+    static AssetIndex build(String imagePath, String soundPath, AssetPack pack, Map<String, List<String>> imageChains) {
+        return new AssetIndex(imagePath, soundPath, pack, imageChains);
+    }
+
+    // ------------------------
+    // Lookups (O(1), no filesystem access)
+    // ------------------------
+
+    /** imageUrl(fileName) - URL to decode the image from (archive or loose file), or null if it does not exist */
+    String imageUrl(String fileName) {
+        return fileName == null ? null : snapshot.images.get(fileName);
+    }
+
+    /** hasImage(fileName) - replacement for the old File.exists probe */
+    boolean hasImage(String fileName) {
+        return imageUrl(fileName) != null;
+    }
+
+    /**
+     * resolveImage(name)
+     *  - for a chain name returns the first existing candidate (or null if none exist)
+     *  - for a plain file name returns it if it exists
+     */
+    String resolveImage(String name) {
+        if (name == null) return null;
+        Snapshot s = snapshot;
+        if (imageChains.containsKey(name)) return s.chains.get(name);
+        return s.images.containsKey(name) ? name : null;
+    }
+
+    /**
+     * imageStamp(fileName)
+     *  - cheap identity of the image's current source ("size-mtime", or "pak-size-mtime" for archive entries)
+     *  - changes whenever the source is replaced; used to invalidate pre-decoded pixel caches
+     */
+    String imageStamp(String fileName) {
+        return fileName == null ? null : snapshot.imageStamps.get(fileName);
+    }
+
+    /** imageNames() - every indexed image file name */
+    Set<String> imageNames() {
+        return snapshot.images.keySet();
+    }
+
+    /** sound(baseName) - preferred sound file for e.g. "sound_7", or null if none exists */
+    File sound(String baseName) {
+        return baseName == null ? null : snapshot.sounds.get(baseName);
+    }
+
+    // ------------------------
+    // Scanning
+    // ------------------------
+
+    /**
+     * scan()
+     *  - lists both folders in parallel and builds a fresh immutable snapshot
+     *  - a missing folder simply contributes no entries
+     */
+    private Snapshot scan() {
+        List<Path> dirs = imageDir.equals(soundDir) ? List.of(imageDir) : List.of(imageDir, soundDir);
+        List<Path> files = dirs.parallelStream()
+                .flatMap(AssetIndex::listFiles)
+                .collect(Collectors.toList());
+
+        Map<String, String> images = new HashMap<>();
+        Map<String, File> byName = new HashMap<>();
+        Map<String, Long> stamps = new HashMap<>();
+        Map<String, String> imageStamps = new HashMap<>();
+        for (Path p : files) {
+            String name = p.getFileName().toString();
+            File f = p.toFile();
+            if (isAsset(name)) stamps.put(name, f.lastModified());   // only asset files are change-tracked
+            if (p.getParent().equals(imageDir) && hasExtension(name, IMAGE_EXTENSIONS)) {
+                images.put(name, f.toURI().toString());
+                imageStamps.put(name, f.length() + "-" + f.lastModified());
+            }
+            if (p.getParent().equals(soundDir) && hasExtension(name, SOUND_EXTENSIONS)) byName.put(name, f);
+        }
+
+        // archive entries take precedence over loose files of the same name
+        if (pack != null) {
+            for (String entry : pack.names()) {
+                if (entry.startsWith("images/")) {
+                    String name = entry.substring("images/".length());
+                    images.put(name, AssetPack.imageUrl(name));
+                    imageStamps.put(name, "pak-" + pack.length(entry) + "-" + pack.lastModified());
+                } else if (entry.startsWith("sounds/")) {
+                    File f = pack.extract(entry);      // Media needs a file URL
+                    if (f != null) byName.put(entry.substring("sounds/".length()), f);
+                }
+            }
+        }
+
+        Map<String, File> sounds = new HashMap<>();
+        for (Map.Entry<String, File> e : byName.entrySet()) {
+            String name = e.getKey();
+            int dot = name.lastIndexOf('.');
+            if (dot <= 0) continue;
+            String base = name.substring(0, dot);
+            if (!sounds.containsKey(base)) {
+                for (String ext : SOUND_EXTENSIONS) {
+                    File candidate = byName.get(base + ext);
+                    if (candidate != null) { sounds.put(base, candidate); break; }
+                }
+            }
+        }
+
+        Map<String, String> chains = new HashMap<>();
+        for (Map.Entry<String, List<String>> chain : imageChains.entrySet()) {
+            for (String candidate : chain.getValue()) {
+                if (images.containsKey(candidate)) { chains.put(chain.getKey(), candidate); break; }
+            }
+        }
+
+        return new Snapshot(Collections.unmodifiableMap(images), Collections.unmodifiableMap(sounds),
+                Collections.unmodifiableMap(chains), stamps, Collections.unmodifiableMap(imageStamps));
+    }
+
+    /** isAsset(name) - the file name has an image or sound extension */
+    private static boolean isAsset(String name) {
+        return hasExtension(name, IMAGE_EXTENSIONS) || hasExtension(name, SOUND_EXTENSIONS);
+    }
+
+    /** hasExtension(name, extensions) - case-insensitive suffix check */
+    private static boolean hasExtension(String name, String[] extensions) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (String ext : extensions) if (lower.endsWith(ext)) return true;
+        return false;
+    }
+
+    private static Stream<Path> listFiles(Path dir) {
+        if (!Files.isDirectory(dir)) return Stream.empty();
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(Files::isRegularFile).collect(Collectors.toList()).stream();
+        } catch (IOException ex) {
+            System.err.println("Failed to scan asset folder " + dir + " : " + ex.getMessage());
+            return Stream.empty();
+        }
+    }
+
+    // ------------------------
+    // Live refresh
+    // ------------------------
+
+    /**
+     * watch(onChange)
+     *  - starts a daemon thread that rescans when files in the asset folders are created/modified/deleted
+     *  - onChange receives the names of files whose presence or timestamp changed (called on the watcher thread)
+     */
+    void watch(Consumer<Set<String>> onChange) {
+        this.onChange = onChange;
+        Thread t = new Thread(this::watchLoop, "asset-index-watch");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void watchLoop() {
+        try (WatchService ws = FileSystems.getDefault().newWatchService()) {
+            for (Path dir : new LinkedHashSet<>(List.of(imageDir, soundDir))) {
+                if (Files.isDirectory(dir)) {
+                    dir.register(ws, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                }
+            }
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = ws.take();
+                Thread.sleep(100);                       // let bursts of events (copy in progress) settle
+                boolean assetTouched = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    Object context = event.context();
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW                // events lost: rescan
+                            || (context instanceof Path && isAsset(context.toString()))) {
+                        assetTouched = true;
+                    }
+                }
+                key.reset();
+                if (assetTouched) refresh();             // logs / journal spills in the folder are ignored
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            System.err.println("Asset folder watching disabled : " + ex.getMessage());
+        }
+    }
+
+    /**
+     * refresh()
+     *  - rescans, swaps the snapshot and reports which file names changed
+     */
+    private void refresh() {
+        Snapshot old = snapshot;
+        Snapshot fresh = scan();
+        snapshot = fresh;
+
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, Long> e : fresh.stamps.entrySet()) {
+            if (!e.getValue().equals(old.stamps.get(e.getKey()))) changed.add(e.getKey());
+        }
+        for (String name : old.stamps.keySet()) {
+            if (!fresh.stamps.containsKey(name)) changed.add(name);
+        }
+        Consumer<Set<String>> listener = onChange;
+        if (!changed.isEmpty() && listener != null) listener.accept(changed);
+    }
+}
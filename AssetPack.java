@@ -0,0 +1,242 @@
+/*
+    AssetPack.java
+    --------------
+    Read side of the packed asset archive (.pak) produced by AssetPacker.
+
+    Format (all integers big-endian):
+        header : int magic 'CAPK' | int version (1) | int entryCount
+        index  : entryCount x ( short nameLength | UTF-8 name | long offset | long length )
+        blobs  : raw file bytes, at the offsets recorded in the index
+
+    Entry names are "images/<file>" and "sounds/<file>".
+
+    NOTES:
+      - The whole archive is memory-mapped once (FileChannel.map); entries are served as ByteBuffer
+        slices / InputStreams over the mapping, so image bytes are never copied onto the heap.
+      - Images are exposed as "capk:images/<file>" URLs (see installUrlHandler) so the usual
+        Image(url, true) background decoding keeps working.
+      - JavaFX Media/AudioClip only accept file/http/jar URLs, so sounds are extracted once per run
+        to a temp folder and played from there.
+*/
+
+import java.io.*;                        // InputStream adapter, temp-file extraction
+import java.net.*;                       // capk: URL handler
+import java.nio.ByteBuffer;              // mapped archive + slices
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;    // memory mapping
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;                  // archive path, temp folder
+import java.util.*;                      // entry index
+
+
+final class AssetPack {
+
+    static final int MAGIC = 0x4341504B;                 // "CAPK"
+    static final int VERSION = 1;
+    static final String URL_PROTOCOL = "capk";
+
+    private final Path path;
+    private final long lastModified;                     // archive timestamp at open (cache invalidation)
+    private final MappedByteBuffer data;                 // the whole archive, read-only
+    private final Map<String, long[]> index;             // name -> { offset, length }
+    private final Map<String, File> extracted = new HashMap<>(); // sounds already written to temp files
+    private Path extractDir;
+
+    private static volatile AssetPack urlPack;           // archive served by the capk: URL handler
+
+    private AssetPack(Path path, long lastModified, MappedByteBuffer data, Map<String, long[]> index) {
+        this.path = path;
+        this.lastModified = lastModified;
+        this.data = data;
+        this.index = index;
+    }
+
+    /**
+     * open(path)
+     *  - maps the archive read-only and parses its index
+     *  - returns null (after logging) if the file is missing or not a valid archive, so callers
+     *    can fall back to loose files
+     */
+    static AssetPack open(Path path) {
+        if (path == null || !Files.isRegularFile(path)) return null;
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.getInt() != MAGIC) throw new IOException("bad magic");
+            int version = buf.getInt();
+            if (version != VERSION) throw new IOException("unsupported version " + version);
+
+            int count = buf.getInt();
+            Map<String, long[]> index = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                byte[] name = new byte[buf.getShort() & 0xFFFF];
+                buf.get(name);
+                long offset = buf.getLong();
+                long length = buf.getLong();
+                if (offset < 0 || length < 0 || offset + length > buf.capacity()) throw new IOException("entry out of range");
+                index.put(new String(name, StandardCharsets.UTF_8), new long[] { offset, length });
+            }
+            return new AssetPack(path, path.toFile().lastModified(), buf, Collections.unmodifiableMap(index));
+        } catch (IOException | RuntimeException ex) {
+            System.err.println("Ignoring asset archive " + path + " : " + ex.getMessage());
+            return null;
+        }
+    }
+
+    // ------------------------
+    // Entry access
+    // ------------------------
+
+    /** names() - every entry name in the archive */
+    Set<String> names() {
+        return index.keySet();
+    }
+
+    long length(String name) {
+        long[] e = index.get(name);
+        return e == null ? -1 : e[1];
+    }
+
+    long lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * slice(name)
+     *  - read-only view of the entry's bytes inside the mapping (no copy); null if absent
+     */
+    ByteBuffer slice(String name) {
+        long[] e = index.get(name);
+        if (e == null) return null;
+        ByteBuffer view = data.duplicate();
+        view.position((int) e[0]);
+        view.limit((int) (e[0] + e[1]));
+        return view.slice();
+    }
+
+    /**
+     * stream(name)
+     *  - InputStream reading directly from the mapping; null if absent
+     */
+    InputStream stream(String name) {
+        ByteBuffer b = slice(name);
+        return b == null ? null : new BufferInputStream(b);
+    }
+
+    /**
+     * imageUrl(fileName)
+     *  - "capk:images/<fileName>" URL for Image(url, ...); requires installUrlHandler(this)
+     */
+    static String imageUrl(String fileName) {
+        return URL_PROTOCOL + ":images/" + fileName;
+    }
+
+    /**
+     * extract(name)
+     *  - writes the entry to a per-run temp folder once and returns the file (for Media/AudioClip)
+     *  - returns null if the entry is absent or cannot be written
+     */
+    synchronized File extract(String name) {
+        File done = extracted.get(name);
+        if (done != null) return done;
+        ByteBuffer b = slice(name);
+        if (b == null) return null;
+        try {
+            if (extractDir == null) {
+                extractDir = Files.createTempDirectory("corridor-pak");
+                extractDir.toFile().deleteOnExit();
+            }
+            File out = extractDir.resolve(Paths.get(name).getFileName()).toFile();
+            out.deleteOnExit();
+            try (FileChannel ch = FileChannel.open(out.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (b.hasRemaining()) ch.write(b);
+            }
+            extracted.put(name, out);
+            return out;
+        } catch (IOException ex) {
+            System.err.println("Failed to extract " + name + " from " + path + " : " + ex.getMessage());
+            return null;
+        }
+    }
+
+    // ------------------------
+    // capk: URL protocol
+    // ------------------------
+
+    /**
+     * installUrlHandler(pack)
+     *  - registers the capk: protocol so Image(url) can stream straight out of the mapping
+     *  - the JVM allows one URLStreamHandlerFactory; returns false if another one is already installed
+     */
+    static boolean installUrlHandler(AssetPack pack) {
+        if (urlPack != null) {
+            urlPack = pack;
+            return true;
+        }
+        try {
+            URL.setURLStreamHandlerFactory(protocol -> URL_PROTOCOL.equals(protocol) ? new Handler() : null);
+            urlPack = pack;
+            return true;
+        } catch (Error ex) {
+            System.err.println("capk: URLs unavailable, serving images from loose files : " + ex.getMessage());
+            return false;
+        }
+    }
+
+    /** resolves capk:<entry name> against the installed archive */
+    private static final class Handler extends URLStreamHandler {
+        @Override
+        protected URLConnection openConnection(URL u) {
+            return new URLConnection(u) {
+                @Override
+                public void connect() { connected = true; }
+
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    AssetPack pack = urlPack;
+                    InputStream in = pack == null ? null : pack.stream(u.getPath());
+                    if (in == null) throw new FileNotFoundException(u.toString());
+                    return in;
+                }
+
+                @Override
+                public long getContentLengthLong() {
+                    AssetPack pack = urlPack;
+                    return pack == null ? -1 : pack.length(u.getPath());
+                }
+            };
+        }
+    }
+
+    /** InputStream over a ByteBuffer slice (reads from the mapping, no intermediate copy) */
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buf;
+
+        BufferInputStream(ByteBuffer buf) { this.buf = buf; }
+
+        @Override
+        public int read() {
+            return buf.hasRemaining() ? buf.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buf.hasRemaining()) return -1;
+            int n = Math.min(len, buf.remaining());
+            buf.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) {
+            int k = (int) Math.max(0, Math.min(n, buf.remaining()));
+            buf.position(buf.position() + k);
+            return k;
+        }
+
+        @Override
+        public int available() {
+            return buf.remaining();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+    AssetPacker.java
+    ----------------
+    Command-line tool that packs the images and sounds folders into one archive for AssetPack.
+
+    Usage:
+        >>java -cp out AssetPacker <imagesDir> <soundsDir> <out.pak>
+        e.g. java -cp out AssetPacker C:/Java/Programe/images C:/Java/Programe/sounds C:/Java/Programe/assets.pak
+
+    Image files (.jpg/.jpeg/.png/.gif/.bmp) from imagesDir become "images/<file>", sound files
+    (.mp3/.wav/.aac/.m4a) from soundsDir become "sounds/<file>". The format is documented in AssetPack.java.
+*/
+
+import java.io.*;                        // archive output
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;                  // folder listing
+import java.util.*;                      // entry list
+
+
+public class AssetPacker {
+
+    private static final String[] IMAGE_EXTS = AssetIndex.IMAGE_EXTENSIONS;
+    private static final String[] SOUND_EXTS = AssetIndex.SOUND_EXTENSIONS;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: java AssetPacker <imagesDir> <soundsDir> <out.pak>");
+            System.exit(2);
+        }
+        Map<String, Path> entries = new TreeMap<>();     // sorted: deterministic archive layout
+        collect(Paths.get(args[0]), "images/", IMAGE_EXTS, entries);
+        collect(Paths.get(args[1]), "sounds/", SOUND_EXTS, entries);
+
+        Path out = Paths.get(args[2]);
+        long total = write(entries, out);
+        System.out.println("Packed " + entries.size() + " assets (" + (total / 1024) + " KB) into " + out);
+    }
+
+    /**
+     * collect(dir, prefix, exts, into)
+     *  - adds every regular file in dir whose extension is in exts as prefix + fileName
+     */
+    private static void collect(Path dir, String prefix, String[] exts, Map<String, Path> into) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            System.err.println("Skipping missing folder " + dir);
+            return;
+        }
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir)) {
+            for (Path p : ds) {
+                String name = p.getFileName().toString();
+                String lower = name.toLowerCase(Locale.ROOT);
+                if (!Files.isRegularFile(p)) continue;
+                for (String ext : exts) {
+                    if (lower.endsWith(ext)) { into.put(prefix + name, p); break; }
+                }
+            }
+        }
+    }
+
+    /**
+     * write(entries, out)
+     *  - writes header, index and blobs; returns the archive size in bytes
+     */
+    private static long write(Map<String, Path> entries, Path out) throws IOException {
+        // index size is known up front, so blob offsets can be computed before writing
+        long offset = 12;
+        for (String name : entries.keySet()) {
+            offset += 2 + name.getBytes(StandardCharsets.UTF_8).length + 8 + 8;
+        }
+
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(out)))) {
+            dos.writeInt(AssetPack.MAGIC);
+            dos.writeInt(AssetPack.VERSION);
+            dos.writeInt(entries.size());
+
+            for (Map.Entry<String, Path> e : entries.entrySet()) {
+                byte[] name = e.getKey().getBytes(StandardCharsets.UTF_8);
+                long length = Files.size(e.getValue());
+                dos.writeShort(name.length);
+                dos.write(name);
+                dos.writeLong(offset);
+                dos.writeLong(length);
+                offset += length;
+            }
+            for (Path p : entries.values()) {
+                Files.copy(p, dos);
+            }
+        }
+        return offset;
+    }
+}
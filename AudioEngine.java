@@ -0,0 +1,335 @@
+/*
+    AudioEngine.java
+    ----------------
+    Named audio channels backed by long-lived, pre-rolled MediaPlayers.
+
+    NOTES:
+      - A channel ("area", "sting", ...) maps to a base file name in the AssetIndex (e.g. "sound_1").
+      - Players are created once and kept alive: stop() pauses and seeks back to zero instead of disposing,
+        so the next play() starts from an already-READY pipeline instead of paying native startup again.
+      - preroll() creates players ahead of time so cues fire in the same pulse as the scene switch.
+      - At most maxLivePlayers native players exist; beyond that the least recently used idle one is disposed.
+      - Start latency (play() call -> PLAYING status) is measured per channel.
+      - Channels whose file is smaller than sfxMaxBytes (-Dcorridor.sfxMaxKB, default 128) are played
+        as in-memory AudioClips through SfxBank instead; only long loops such as sound_1 use MediaPlayer.
+      - Player creation, play/trigger/stop and dispose are reported as corridor.Audio JFR events.
+      - All methods are meant to be called from the JavaFX Application Thread.
+*/
+
+import javafx.scene.media.Media;          // audio media file reference
+import javafx.scene.media.MediaPlayer;    // audio playback control
+import javafx.util.Duration;              // seek target when rewinding a channel
+
+import java.io.File;                      // resolved sound file
+import java.util.*;                       // channel registry, LRU order
+
+
+final class AudioEngine {
+
+    // ------------------------
+    // Configuration
+    // ------------------------
+    private static final int DEFAULT_MAX_LIVE_PLAYERS = 4; // native players kept alive at once
+    private static final long DEFAULT_SFX_MAX_KB = 128;  // files up to this size become AudioClips
+
+    private final AssetIndex assets;                     // resolves base names to sound files in memory
+    private final int maxLivePlayers;                    // cap on live native players
+    private final long sfxMaxBytes;                      // size threshold for the AudioClip path
+    private final SfxBank sfx = new SfxBank();           // short stings, decoded into memory once
+
+    // ------------------------
+    // Channel registry
+    // ------------------------
+    // access-ordered so the first entry is the least recently used channel
+    private final LinkedHashMap<String, Channel> channels = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Per-channel state: the file it plays, its (possibly null) player and latency statistics. */
+    private static final class Channel {
+        final String name;
+        final String baseName;
+        final boolean loop;
+        MediaPlayer player;                              // null until created / after being disposed
+        boolean clip;                                    // served by SfxBank instead of a MediaPlayer
+        boolean broken;                                  // player creation failed; don't retry
+        long pendingPlayNanos;                           // time of the play() call awaiting PLAYING, 0 if none
+
+        // start latency statistics (play() -> PLAYING)
+        long starts;
+        long lastLatencyNanos;
+        long maxLatencyNanos;
+        long totalLatencyNanos;
+
+        Channel(String name, String baseName, boolean loop) {
+            this.name = name;
+            this.baseName = baseName;
+            this.loop = loop;
+        }
+    }
+
+    AudioEngine(AssetIndex assets, int maxLivePlayers, long sfxMaxBytes) {
+        this.assets = assets;
+        this.maxLivePlayers = Math.max(1, maxLivePlayers);
+        this.sfxMaxBytes = sfxMaxBytes;
+    }
+
+    AudioEngine(AssetIndex assets, int maxLivePlayers) {
+        this(assets, maxLivePlayers, sfxMaxBytesFromProperties());
+    }
+
+    /**
+     * sfxMaxBytesFromProperties()
+     *  - reads -Dcorridor.sfxMaxKB, falling back to DEFAULT_SFX_MAX_KB on missing/invalid values
+     */
+    static long sfxMaxBytesFromProperties() {
+        long kb = DEFAULT_SFX_MAX_KB;
+        String prop = System.getProperty("corridor.sfxMaxKB");
+        if (prop != null) {
+            try {
+                kb = Long.parseLong(prop.trim());
+            } catch (NumberFormatException ex) {
+                System.err.println("Ignoring invalid corridor.sfxMaxKB value: " + prop);
+            }
+        }
+        return kb * 1024;
+    }
+
+    /**
+     * maxPlayersFromProperties()
+     *  - reads -Dcorridor.maxPlayers, falling back to DEFAULT_MAX_LIVE_PLAYERS on missing/invalid values
+     */
+    static int maxPlayersFromProperties() {
+        String prop = System.getProperty("corridor.maxPlayers");
+        if (prop != null) {
+            try {
+                return Integer.parseInt(prop.trim());
+            } catch (NumberFormatException ex) {
+                System.err.println("Ignoring invalid corridor.maxPlayers value: " + prop);
+            }
+        }
+        return DEFAULT_MAX_LIVE_PLAYERS;
+    }
+
+    /**
+     * register(channel, baseName, loop)
+     *  - declares a named channel playing baseName (+ preferred existing extension, see AssetIndex)
+     *  - loop==true repeats indefinitely (background music), otherwise plays once
+     */
+    void register(String channel, String baseName, boolean loop) {
+        channels.put(channel, new Channel(channel, baseName, loop));
+    }
+
+    // ------------------------
+    // Playback
+    // ------------------------
+
+    /**
+     * preroll(channel)
+     *  - creates the channel's player (or loads its clip) ahead of time so it is ready before it is needed
+     */
+    void preroll(String channel) {
+        Channel c = channels.get(channel);
+        if (c != null) ensureLoaded(c);
+    }
+
+    /**
+     * play(channel)
+     *  - starts (or resumes) the channel; does nothing if it is already playing
+     *  - creates the player / clip on first use if it was not pre-rolled
+     */
+    void play(String channel) {
+        Channel c = channels.get(channel);
+        if (c == null || !ensureLoaded(c)) return;
+
+        if (c.clip) {
+            if (sfx.isPlaying(c.name)) return;
+            sfx.play(c.name);
+            GameEvents.audio(c.name, c.baseName, "play", true);
+            return;
+        }
+        MediaPlayer mp = c.player;
+        if (mp.getStatus() == MediaPlayer.Status.PLAYING) return;
+
+        c.pendingPlayNanos = System.nanoTime();
+        mp.play();
+        GameEvents.audio(c.name, c.baseName, "play", false);
+    }
+
+    /**
+     * trigger(channel)
+     *  - fires a short sting even if the same cue is already sounding (overlapping playback);
+     *    a looping clip that is already sounding is not layered again
+     *  - falls back to play() for channels that are not served as clips
+     */
+    void trigger(String channel) {
+        Channel c = channels.get(channel);
+        if (c == null || !ensureLoaded(c)) return;
+        if (c.clip) {
+            sfx.play(c.name);
+            GameEvents.audio(c.name, c.baseName, "trigger", true);
+        } else {
+            play(channel);
+        }
+    }
+
+    /**
+     * stop(channel)
+     *  - pauses the channel and rewinds it to the start, keeping the native player alive for reuse
+     *  - clip channels simply stop every sounding instance
+     */
+    void stop(String channel) {
+        Channel c = channels.get(channel);
+        if (c == null) return;
+        if (c.clip) {
+            sfx.stop(c.name);
+            GameEvents.audio(c.name, c.baseName, "stop", true);
+            return;
+        }
+        if (c.player == null) return;
+        try {
+            c.player.pause();
+            c.player.seek(Duration.ZERO);
+            c.pendingPlayNanos = 0;
+            GameEvents.audio(c.name, c.baseName, "stop", false);
+        } catch (Exception ex) {
+            // Media APIs sometimes throw on pause/seek — log but do not crash game
+            System.err.println("Error stopping channel " + channel + " : " + ex.getMessage());
+        }
+    }
+
+    /**
+     * disposeAll()
+     *  - releases every native player (application shutdown)
+     */
+    void disposeAll() {
+        for (Channel c : channels.values()) dispose(c);
+        sfx.stopAll();
+    }
+
+    // ------------------------
+    // Player lifecycle
+    // ------------------------
+
+    /**
+     * ensureLoaded(c)
+     *  - makes the channel playable: small files are loaded into SfxBank, larger ones get a live
+     *    MediaPlayer (enforcing the live-player cap)
+     *  - returns false if no playable file exists for the channel
+     */
+    private boolean ensureLoaded(Channel c) {
+        if (c.clip || c.player != null) return true;
+        if (c.broken) return false;
+
+        File f = assets.sound(c.baseName);             // in-memory lookup, no File.exists probing
+        if (f == null) return false;
+        if (f.length() <= sfxMaxBytes && sfx.load(c.name, f, c.loop)) {
+            c.clip = true;
+            GameEvents.audio(c.name, f.getName(), "clip", true);
+            return true;
+        }
+
+        enforceCap(c);
+        GameEvents.Audio create = GameEvents.audioCreateBegin(c.name, f.getName());
+        MediaPlayer mp = createPlayer(f, c.loop);
+        GameEvents.audioCreateEnd(create);
+        if (mp == null) {
+            c.broken = true;
+            return false;
+        }
+        mp.setOnPlaying(() -> recordStart(c));
+        mp.setOnError(() -> System.err.println("Media error on channel " + c.name + " : " + mp.getError()));
+        c.player = mp;
+        return true;
+    }
+
+    /**
+     * enforceCap(incoming)
+     *  - disposes least recently used idle players until there is room for one more
+     *  - playing channels are never disposed
+     */
+    private void enforceCap(Channel incoming) {
+        int live = liveCount();
+        if (live < maxLivePlayers) return;
+        for (Channel c : channels.values()) {
+            if (live < maxLivePlayers) break;
+            if (c == incoming || c.player == null) continue;
+            if (c.player.getStatus() == MediaPlayer.Status.PLAYING) continue;
+            dispose(c);
+            live--;
+        }
+    }
+
+    private void dispose(Channel c) {
+        if (c.player == null) return;
+        try {
+            c.player.stop();
+            c.player.dispose();
+        } catch (Exception ex) {
+            System.err.println("Error disposing channel " + c.name + " : " + ex.getMessage());
+        }
+        c.player = null;
+        c.pendingPlayNanos = 0;
+        GameEvents.audio(c.name, c.baseName, "dispose", false);
+    }
+
+    /**
+     * createPlayer(f, loop)
+     *  - creates a MediaPlayer for f; sets cycle count to indefinite when loop==true (looping background music)
+     *  - returns null if creation fails
+     *
+     *  Important: JavaFX supports a set of codecs depending on platform; if a file fails to load,
+     *  check the file format and confirm the JDK/OS supports it.
+     */
+    private MediaPlayer createPlayer(File f, boolean loop) {
+        try {
+            Media media = new Media(f.toURI().toString()); // create Media from file URI
+            MediaPlayer mp = new MediaPlayer(media);       // starts pre-rolling towards READY
+            mp.setCycleCount(loop ? MediaPlayer.INDEFINITE : 1); // loop or play once
+            return mp;
+        } catch (Exception ex) {
+            // If creating MediaPlayer fails — log it; the channel stays silent
+            System.err.println("Failed to create MediaPlayer for " + f.getName() + " : " + ex.getMessage());
+            return null;
+        }
+    }
+
+    // ------------------------
+    // Stats
+    // ------------------------
+
+    private void recordStart(Channel c) {
+        if (c.pendingPlayNanos == 0) return;
+        long latency = System.nanoTime() - c.pendingPlayNanos;
+        c.pendingPlayNanos = 0;
+        c.starts++;
+        c.lastLatencyNanos = latency;
+        c.totalLatencyNanos += latency;
+        c.maxLatencyNanos = Math.max(c.maxLatencyNanos, latency);
+    }
+
+    /**
+     * liveCount()
+     *  - number of native MediaPlayers currently alive
+     */
+    int liveCount() {
+        int n = 0;
+        for (Channel c : channels.values()) if (c.player != null) n++;
+        return n;
+    }
+
+    /**
+     * latencyReport()
+     *  - multi-line summary of start latency per MediaPlayer channel (last / average / max, in milliseconds)
+     *  - clip channels only appear in the SfxBank line, which carries the play() call cost, not start latency
+     */
+    String latencyReport() {
+        StringBuilder sb = new StringBuilder("AudioEngine start latency (live players=" + liveCount() + "):\n");
+        sb.append("  ").append(sfx.stats()).append('\n');
+        for (Channel c : channels.values()) {
+            if (c.starts == 0) continue;
+            sb.append(String.format("  %-12s starts=%d last=%.1fms avg=%.1fms max=%.1fms%n",
+                    c.name, c.starts,
+                    c.lastLatencyNanos / 1e6, c.totalLatencyNanos / 1e6 / c.starts, c.maxLatencyNanos / 1e6));
+        }
+        return sb.toString();
+    }
+}
@@ -6,6 +6,36 @@
     NOTES:
       - Sound files expected under: C:/Java/Programe/sounds/
       - Images expected under:  C:/Java/Programe/images/
+      - Other locations: -Dcorridor.assets=<folder> (with images/ and sounds/, or all files flat);
+        without it and without C:/Java/Programe/ the working directory is used.
+      - Optional packed archive: <assets folder>/assets.pak (or -Dcorridor.pack=<file>), built with
+                >>java -cp out AssetPacker <imagesDir> <soundsDir> <assets folder>/assets.pak
+      - Optional pre-decoded backgrounds: <assets folder>/pixcache/ (or -Dcorridor.pixelCache=<folder>), built with
+                >>java -cp out PixelCacheBuilder <assets folder> [cache folder] [SMALL MEDIUM LARGE]
+      - Game rules and state live in GameEngine / GameState (no JavaFX); this class renders their events.
+      - One Scene (GameView) for the whole game: location screens are built once and swapped into it.
+        The screens reachable from the current one are built on a background thread (ScenePrefetcher) and
+        their backgrounds decoded ahead, so a click commits a prepared screen.
+      - F3 toggles a performance HUD (FPS, last scene switch, heap, live players); -Dcorridor.hud=true shows it
+        at startup. Scene-switch latency and frame-interval (pulse) percentiles are printed on exit.
+      - The background dim mask is baked into the background images (-Dcorridor.render=layered keeps the
+        live translucent layer, e.g. to compare pulse statistics on the software pipeline).
+      - Puzzle answers are typed into an inline AnswerPanel (built once, Enter submits, Escape cancels) instead of
+        a modal TextInputDialog; its open -> focused latency is printed on exit.
+      - Every scene visit has a SceneLifecycle scope (delays, audio channels, one-off images) released when
+        the next scene is entered; F4 prints a leak report (also printed on exit).
+      - When frames are dropped, QualityController steps down (shadows, smooth scaling, background tier,
+        hover animation) and back up with headroom; -Dcorridor.quality=<level> fixes the level.
+      - FX-thread stalls over -Dcorridor.stallMs (default 250) are logged with a stack trace to corridor-stalls.log.
+      - Game delays run on a GameClock: -Dcorridor.clock=8x plays 8 times faster, =instant skips every wait
+        (automated UI runs).
+      - Timed sequences (pendant blackout, death, escape) are declarative Cutscenes on one scheduler;
+        Space skips the current stage.
+      - Narrative lines and scene switches go to a fixed-size EventJournal (-Dcorridor.journalSize, optional
+        rolling file with -Dcorridor.journalFile=<file>); F2 shows it.
+      - JFR: scene transitions, image loads, audio, puzzle attempts and cinematic stages are recorded as
+        corridor.* events (see GameEvents.java) when running with -XX:StartFlightRecording.
+      - JMH benchmarks (headless JavaFX, gc profiler): bench/ ->  >>mvn -B package  then  >>java -jar target/benchmarks.jar
       - Use JavaFX module flags when compiling/running as you already do. :
                 >>java --enable-native-access=javafx.graphics --module-path "C:\Java\javafx-sdk-25\lib" --add-modules javafx.controls,javafx.fxml,javafx.media -cp out CorridorAdventure
     Edited to include: extensive comments on buttons, sounds, scenes, transitions, helper utilities.
@@ -31,14 +61,15 @@ Sounds (located in C:/Java/Programe/sounds/):
     └─ sound_7.mp3  <-- blackouts, puzzle-fails, and lock-stanza dedicated version
 */
 
-import javafx.animation.PauseTransition;  // small delays / timed transitions between scenes
-import javafx.animation.ScaleTransition;  // scaling animations for effects
+import javafx.animation.PauseTransition;  // resize debounce (game delays go through GameClock)
 import javafx.application.Application;    // JavaFX entry point class
 import javafx.application.Platform;       // used to exit the app cleanly
 
 import javafx.geometry.*;                 // layout helpers (Insets, Pos)
 import javafx.scene.*;                    // core scene graph, nodes, controls, containers
 import javafx.scene.image.*;              // load and display background images
+import javafx.scene.input.KeyCode;        // Space skips a cutscene stage
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.*;             // BorderPane, VBox/HBox, StackPane
 import javafx.scene.paint.Color;          // overlay/text color
 import javafx.scene.text.Font;            // fonts for labels and controls
@@ -47,13 +78,7 @@ import javafx.stage.Stage;                // main application window
 import javafx.util.Duration;              // durations for PauseTransition
 
 import javafx.scene.control.*;            // buttons, labels, inputs
-import javafx.scene.effect.DropShadow;    // drop shadow effects
-import javafx.scene.shape.Rectangle;      // used for overlays, masking, etc
 
-import javafx.scene.media.Media;          // audio media file reference
-import javafx.scene.media.MediaPlayer;    // audio playback control
-
-import java.io.File;                      // check file presence (images/sounds)
 import java.util.*;                       // lists, maps, random, etc
 
 
@@ -67,6 +92,9 @@ public class CorridorAdventure extends Application {
     private static final double PAUSE_LONG  = 3.0;       // long wait (in seconds)
     private static final double BLACKOUT_DEATH = 2.0;    // blackout duration used in the death sequence
 
+    // every game delay is scheduled on this clock: real time, N x turbo or instant (-Dcorridor.clock)
+    private final GameClock clock = GameClock.fromProperties();
+
     // Simple label reference used by some methods (kept as field for convenience)
     private Label desc;
 
@@ -74,195 +102,141 @@ public class CorridorAdventure extends Application {
     // Paths & stage
     // ------------------------
     private Stage primaryStage;                          // primary JavaFX Stage (main window)
-    private final String IMAGE_PATH = "C:/Java/Programe/images/"; // folder for images (unchanged)
-    private final String SOUND_PATH = "C:/Java/Programe/sounds/"; // folder for sounds (as requested)
+    private final String ASSET_ROOT = resolveAssetRoot();          // folder holding images/, sounds/ and assets.pak
+    private final String IMAGE_PATH = assetFolder(ASSET_ROOT, "images/"); // folder for images
+    private final String SOUND_PATH = assetFolder(ASSET_ROOT, "sounds/"); // folder for sounds
+    private final String PACK_PATH = System.getProperty("corridor.pack", ASSET_ROOT + "assets.pak"); // packed archive (optional)
+    private final String PIXEL_CACHE_PATH = System.getProperty("corridor.pixelCache", ASSET_ROOT + "pixcache/"); // pre-decoded backgrounds (optional)
     private String playerName = "";                      // player's entered name
 
+    // image fallback chains, resolved once by the AssetIndex (first existing candidate wins)
+    private static final String IMG_SOUTH_DOOR = "south_door";   // trySouthDoor background
+    private static final String IMG_DEATH_FIRST = "death_first"; // death sequence, stage 1
+    private static final String IMG_ESCAPE_FIRST = "escape_first"; // escape sequence, stage 1
+    private static final Map<String, List<String>> IMAGE_CHAINS = Map.of(
+            IMG_SOUTH_DOOR, List.of("exit.jpg", "exit.png", "mansion_out.jpg"),
+            IMG_DEATH_FIRST, List.of("exit_2.jpg", "shadow.png"),
+            IMG_ESCAPE_FIRST, List.of("escape.jpg", "escape.png"));
+
+    // in-memory index of every image/sound file (built in init(), off the FX thread)
+    private AssetIndex assets;
+
+    // shared decoded-image cache (LRU under a byte budget, background decoding)
+    private ImageCache imageCache;
+
+    // the one Scene every screen is shown in (background / dim / content layers), created in start()
+    private GameView view;
+
+    // location screens built once and swapped back in on every visit (key -> screen)
+    private final Map<String, Screen> screens = new HashMap<>();
+
+    // builds the screens reachable from the current one in the background (see prefetchScreen)
+    private final ScenePrefetcher<Screen> prefetcher = new ScenePrefetcher<>();
+
+    // timed sequences (pendant blackout, death, escape) run by the Cutscene scheduler; Space skips a stage
+    private final CutsceneDirector director = new CutsceneDirector();
+    private Cutscene cutscene;                           // last started sequence, may have finished
+
+    // background currently on screen (re-decoded at a new tier after the window is resized)
+    private ImageView currentBg;
+    private ImageCache.Tier currentBgTier;
+    private PauseTransition resizeSettle;                // debounce: fires once resizing has stopped
+
     // ------------------------
     // Game state
     // ------------------------
-    private boolean ended = false;                       // whether an ending was reached
-    private Set<Character> letters = new LinkedHashSet<>(); // collected letters (O,C,K)
-    private Map<String, Boolean> solved = new HashMap<>();  // solved flags per room
+    // rules & state live in the headless GameEngine (letters, solved rooms, pendant lives, ended flag);
+    // this class only renders what the engine reports
+    private final GameEngine engine = new GameEngine();
 
     // ------------------------
     // UI helpers
     // ------------------------
-    private VBox inventoryBox;                           // inventory UI container (top-right)
-    private TextArea logArea;                            // hidden debug/log area (not shown to player)
+    private InventoryPanel inventory;                    // inventory UI (top-right), bound to the game state
+    private AnswerPanel answers;                         // inline puzzle answer input, docked into the current room
+    private final EventJournal journal = EventJournal.fromProperties(); // narrative / scene history (F2 shows it)
+    private JournalView journalView;
 
     // ------------------------
-    // Pendant / lives state
+    // Audio channels (named, backed by AudioEngine)
     // ------------------------
-    private boolean pendantTaken = false;                // whether pendant is picked up
-    private int pendantNumber = 3;                       // pendant "life" count (decrements on failures)
+    // CH_AREA       (sound_1): title / credits / walkthrough / hallway / puzzle rooms (general area)
+    // CH_MANSION_OUT(sound_2): mansion_out (outside mansion)
+    // CH_MANSION_IN (sound_3): mansion_in (only mansion interior loop)
+    // CH_SOUTH_DOOR (sound_4): south door attempt music
+    // CH_DEATH      (sound_5): death sequence music
+    // CH_ESCAPE     (sound_6): escape sequence music
+    // CH_STING      (sound_7): blackouts, puzzle-fails, lock-stanza moments
+    private static final String CH_AREA = "area";
+    private static final String CH_MANSION_OUT = "mansion_out";
+    private static final String CH_MANSION_IN = "mansion_in";
+    private static final String CH_SOUTH_DOOR = "south_door";
+    private static final String CH_DEATH = "death";
+    private static final String CH_ESCAPE = "escape";
+    private static final String CH_STING = "sting";
+
+    // players are kept alive and pre-rolled; stop() rewinds instead of disposing.
+    // short cues (sound_4/5/7) are served from memory as AudioClips; trigger() lets stings overlap.
+    private AudioEngine audio;
 
     // ------------------------
-    // Audio players (MediaPlayer objects)
+    // Performance instrumentation
     // ------------------------
-    // sound1: title / credits / walkthrough / hallway / puzzle rooms (general area)
-    // sound2: mansion_out (outside mansion)
-    // sound3: mansion_in (only mansion interior loop)
-    // sound4: south door attempt music
-    // sound5: death sequence music
-    // sound6: escape sequence music
-    // sound7: blackouts, puzzle-fails, lock-stanza moments (new mapping)
-    private MediaPlayer sound1Player;
-    private MediaPlayer sound2Player;
-    private MediaPlayer sound3Player; // mansion_in only
-    private MediaPlayer sound4Player;
-    private MediaPlayer sound5Player;
-    private MediaPlayer sound6Player;
-    private MediaPlayer sound7Player; // blackout/fail/stanza
+    // scene-switch latency histograms + F3 HUD (created in start(), FX thread only)
+    private PerfMonitor perf;
+    private SceneLifecycle lifecycle;                    // per-visit delays, audio channels, one-off images
+    private QualityController quality;                   // steps effects / scaling / tiers / hover down on dropped frames
+    private FxWatchdog watchdog;                         // FX-thread stall detector (reports to corridor-stalls.log)
 
     // ------------------------
-    // -- Audio helper methods
+    // -- Audio setup
     // ------------------------
 
     /**
-     * createPlayerFromBase:
-     *  - tries to create a MediaPlayer from SOUND_PATH using the base filename (e.g., "sound_1")
-     *  - checks multiple common extensions (.mp3, .wav, .aac, .m4a) in that order
-     *  - sets cycle count to indefinite when loop==true (looping background music)
-     *  - returns null if no file found or creation fails
-     *
-     *  Important: JavaFX supports a set of codecs depending on platform; if a file fails to load,
-     *  check the file format and confirm the JDK/OS supports it.
+     * initAudio()
+     *  - registers every named channel with its sound file (all loop while active, as before,
+     *    except the sound_7 sting: about 1.8 s, shorter than the blackout / fail pause, so it plays once)
+     *  - pre-rolls the general area loop and the blackout/fail sting so their first play() starts
+     *    in the same pulse as the scene switch
      */
-    private MediaPlayer createPlayerFromBase(String baseName, boolean loop) {
-        String[] exts = { ".mp3", ".wav", ".aac", ".m4a" };
-        for (String ext : exts) {
-            String fname = baseName + ext;
-            File f = new File(SOUND_PATH + fname);
-            if (f.exists()) {
-                try {
-                    Media media = new Media(f.toURI().toString()); // create Media from file URI
-                    MediaPlayer mp = new MediaPlayer(media);
-                    mp.setCycleCount(loop ? MediaPlayer.INDEFINITE : 1); // loop or play once
-                    return mp;
-                } catch (Exception ex) {
-                    // If creating MediaPlayer fails — print error and continue trying other extensions
-                    System.err.println("Failed to create MediaPlayer for " + fname + " : " + ex.getMessage());
-                }
-            }
-        }
-        return null; // none of the candidate files existed or were valid
+    private void initAudio() {
+        audio.register(CH_AREA, "sound_1", true);
+        audio.register(CH_MANSION_OUT, "sound_2", true);
+        audio.register(CH_MANSION_IN, "sound_3", true);
+        audio.register(CH_SOUTH_DOOR, "sound_4", true);
+        audio.register(CH_DEATH, "sound_5", true);
+        audio.register(CH_ESCAPE, "sound_6", true);
+        audio.register(CH_STING, "sound_7", false);       // one-shot sting: each trigger is one voice
+
+        audio.preroll(CH_AREA);
+        audio.preroll(CH_STING);
     }
 
+    // ------------------------
+    // -- Asset location
+    // ------------------------
+
     /**
-     * startLoop(idx)
-     *  - convenience method to lazily initialize and start the MediaPlayer for a sound slot.
-     *  - idx selects which sound (1..7) to start
-     *  - method avoids re-creating players if they already exist (it resumes if paused/stopped)
+     * resolveAssetRoot()
+     *  - -Dcorridor.assets=<folder> wins
+     *  - otherwise the original C:/Java/Programe/ layout if it exists (Windows dev machines)
+     *  - otherwise the working directory (Linux kiosks, or assets next to the .class files)
      */
-    private void startLoop(int idx) {
-        switch (idx) {
-            case 1:
-                if (sound1Player != null) {
-                    MediaPlayer.Status s = sound1Player.getStatus();
-                    if (s != MediaPlayer.Status.PLAYING) sound1Player.play();
-                    return;
-                }
-                sound1Player = createPlayerFromBase("sound_1", true);
-                if (sound1Player != null) sound1Player.play();
-                break;
-            case 2:
-                if (sound2Player != null) {
-                    MediaPlayer.Status s = sound2Player.getStatus();
-                    if (s != MediaPlayer.Status.PLAYING) sound2Player.play();
-                    return;
-                }
-                sound2Player = createPlayerFromBase("sound_2", true);
-                if (sound2Player != null) sound2Player.play();
-                break;
-            case 3:
-                // sound_3 = mansion_in only (per user's request)
-                if (sound3Player != null) {
-                    MediaPlayer.Status s = sound3Player.getStatus();
-                    if (s != MediaPlayer.Status.PLAYING) sound3Player.play();
-                    return;
-                }
-                sound3Player = createPlayerFromBase("sound_3", true);
-                if (sound3Player != null) sound3Player.play();
-                break;
-            case 4:
-                if (sound4Player != null) {
-                    MediaPlayer.Status s = sound4Player.getStatus();
-                    if (s != MediaPlayer.Status.PLAYING) sound4Player.play();
-                    return;
-                }
-                sound4Player = createPlayerFromBase("sound_4", true);
-                if (sound4Player != null) sound4Player.play();
-                break;
-            case 5:
-                if (sound5Player != null) {
-                    MediaPlayer.Status s = sound5Player.getStatus();
-                    if (s != MediaPlayer.Status.PLAYING) sound5Player.play();
-                    return;
-                }
-                sound5Player = createPlayerFromBase("sound_5", true);
-                if (sound5Player != null) sound5Player.play();
-                break;
-            case 6:
-                if (sound6Player != null) {
-                    MediaPlayer.Status s = sound6Player.getStatus();
-                    if (s != MediaPlayer.Status.PLAYING) sound6Player.play();
-                    return;
-                }
-                sound6Player = createPlayerFromBase("sound_6", true);
-                if (sound6Player != null) sound6Player.play();
-                break;
-            case 7:
-                // sound_7 = blackouts / puzzle-fails / lock-stanza (new mapping)
-                if (sound7Player != null) {
-                    MediaPlayer.Status s = sound7Player.getStatus();
-                    if (s != MediaPlayer.Status.PLAYING) sound7Player.play();
-                    return;
-                }
-                sound7Player = createPlayerFromBase("sound_7", true);
-                if (sound7Player != null) sound7Player.play();
-                break;
-        }
+    private static String resolveAssetRoot() {
+        String prop = System.getProperty("corridor.assets");
+        if (prop != null && !prop.isEmpty()) return prop.endsWith("/") ? prop : prop + "/";
+        if (new java.io.File("C:/Java/Programe/").isDirectory()) return "C:/Java/Programe/";
+        return "./";
     }
 
     /**
-     * stopSound(idx)
-     *  - stops, disposes, and nulls-out the MediaPlayer for the given sound slot index
-     *  - disposing helps free native resources
+     * assetFolder(root, sub)
+     *  - root + sub when that folder exists, else root itself (assets stored flat next to each other)
      */
-    private void stopSound(int idx) {
-        try {
-            switch (idx) {
-                case 1:
-                    if (sound1Player != null) { sound1Player.stop(); sound1Player.dispose(); sound1Player = null; }
-                    break;
-                case 2:
-                    if (sound2Player != null) { sound2Player.stop(); sound2Player.dispose(); sound2Player = null; }
-                    break;
-                case 3:
-                    if (sound3Player != null) { sound3Player.stop(); sound3Player.dispose(); sound3Player = null; }
-                    break;
-                case 4:
-                    if (sound4Player != null) { sound4Player.stop(); sound4Player.dispose(); sound4Player = null; }
-                    break;
-                case 5:
-                    if (sound5Player != null) { sound5Player.stop(); sound5Player.dispose(); sound5Player = null; }
-                    break;
-                case 6:
-                    if (sound6Player != null) { sound6Player.stop(); sound6Player.dispose(); sound6Player = null; }
-                    break;
-                case 7:
-                    if (sound7Player != null) { sound7Player.stop(); sound7Player.dispose(); sound7Player = null; }
-                    break;
-            }
-        } catch (Exception ex) {
-            // Media APIs sometimes throw on stopping/disposal — log but do not crash game
-            System.err.println("Error stopping sound " + idx + " : " + ex.getMessage());
-        }
+    private static String assetFolder(String root, String sub) {
+        return new java.io.File(root + sub).isDirectory() ? root + sub : root;
     }
 
-    
-
     // ------------------------
     // Main & entry
     // ------------------------
@@ -275,30 +249,106 @@ public class CorridorAdventure extends Application {
     // ------------------------
 
     /**
-     * loadImageView(fileName)
-     *  - loads an ImageView from IMAGE_PATH + fileName
-     *  - returns null if the file doesn't exist
-     *  - preserves ratio disabled (fills background), smoothing enabled
+     * loadImage(fileName)
+     *  - the shared ImageCache entry for fileName (resolved through the AssetIndex)
+     *  - the image is decoded at the resolution tier matching the current window size
+     *  - repeat visits reuse the decoded Image; cold loads decode in the background
+     *  - returns null if the file doesn't exist (or fileName is null)
      *
      *  Note: we purposely return null when file missing; callers handle fallbacks.
      */
-    private ImageView loadImageView(String fileName) {
+    private Image loadImage(String fileName) {
         if (fileName == null) return null;
-        File f = new File(IMAGE_PATH + fileName);
-        if (!f.exists()) return null;
-        Image img = new Image(f.toURI().toString());
-        ImageView iv = new ImageView(img);
-        iv.setPreserveRatio(false);
-        iv.setSmooth(true);
-        return iv;
+        return imageCache.get(fileName, viewportTier());
+    }
+
+    /**
+     * viewportTier()
+     *  - resolution tier for the current scene size (SMALL before the view exists)
+     *  - one tier lower while the quality controller is at LOW_TIER or below
+     */
+    private ImageCache.Tier viewportTier() {
+        Scene current = view != null ? view.scene() : null;
+        if (current == null) return ImageCache.Tier.SMALL;
+        ImageCache.Tier tier = ImageCache.Tier.forViewport(current.getWidth(), current.getHeight());
+        return quality != null && quality.level().lowerTier() ? tier.lower() : tier;
+    }
+
+    /**
+     * installResizeHandling()
+     *  - while the user drags the window the background is scaled cheaply (smooth=false)
+     *  - once resizing settles (debounced) the background is re-decoded at the matching tier
+     *    and smooth scaling is restored
+     */
+    private void installResizeHandling() {
+        resizeSettle = new PauseTransition(Duration.millis(300));
+        resizeSettle.setOnFinished(e -> refreshBackgroundTier());
+
+        javafx.beans.value.ChangeListener<Number> onResize = (obs, oldV, newV) -> {
+            if (currentBg == null) return;
+            currentBg.setSmooth(false);                   // cheap nearest-neighbour while dragging
+            resizeSettle.playFromStart();                 // restart the debounce window
+        };
+        primaryStage.widthProperty().addListener(onResize);
+        primaryStage.heightProperty().addListener(onResize);
+    }
+
+    /**
+     * refreshBackgroundTier()
+     *  - swaps the on-screen background for the tier matching the new window size
+     *  - the swap waits until the new image has decoded, so the old one stays visible meanwhile
+     */
+    private void refreshBackgroundTier() {
+        ImageView bg = currentBg;
+        if (bg == null) return;
+        ImageCache.Tier tier = viewportTier();
+        if (tier == currentBgTier || !(bg.getUserData() instanceof String)) {
+            bg.setSmooth(view.smoothScaling());
+            return;
+        }
+        currentBgTier = tier;
+        String file = (String) bg.getUserData();
+        Image next = imageCache.get(file, tier);
+        if (next == null) {
+            bg.setSmooth(view.smoothScaling());
+            return;
+        }
+        Runnable swap = () -> {
+            // the background view is shared: only swap if it still shows the same file
+            if (currentBg == bg && file.equals(bg.getUserData()) && !next.isError()) view.replaceBackground(next);
+            bg.setSmooth(view.smoothScaling());
+        };
+        if (next.getProgress() >= 1.0) {
+            swap.run();
+        } else {
+            next.progressProperty().addListener((obs, oldV, newV) -> {
+                if (newV.doubleValue() >= 1.0) swap.run();
+            });
+        }
+    }
+
+    /**
+     * applyQuality(level)
+     *  - QualityController target: shadows, background smoothing, background tier and hover animation
+     */
+    private void applyQuality(QualityController.Level level) {
+        UiKit.setEffects(level.effects());
+        UiKit.setHoverAnimation(level.hoverAnimation());
+        view.setSmoothScaling(level.smoothScaling());
+        refreshBackgroundTier();                          // re-decodes the background if its tier changed
+    }
+
+    private void logQuality(String message) {
+        System.out.println(message);
+        journal.add(EventJournal.Type.SYSTEM, message);
     }
 
     /**
      * fileExists(fileName)
-     *  - convenience check for image files in IMAGE_PATH
+     *  - convenience check for image files, answered from the in-memory AssetIndex
      */
     private boolean fileExists(String fileName) {
-        return fileName != null && new File(IMAGE_PATH + fileName).exists();
+        return assets.hasImage(fileName);
     }
 
     // ------------------------
@@ -308,110 +358,125 @@ public class CorridorAdventure extends Application {
     /**
      * styleButton(b)
      *  - applies a unified visual style to game buttons (text color, background, padding, border)
-     *  - keeps UI consistent across the scenes
+     *  - keeps UI consistent across the scenes; the look is the .game-button class of the shared
+     *    stylesheet (UiKit), so no CSS is parsed per button
      */
     private void styleButton(Button b) {
-        b.setFont(Font.font(14));
-        b.setStyle("-fx-background-color: rgba(0,0,0,0.75); -fx-text-fill: white; -fx-font-weight: bold; "
-                + "-fx-padding: 6 12 6 12; -fx-border-color: #666; -fx-border-width:1;");
+        UiKit.style(b);
     }
 
     // ------------------------
-    // Blackout utility
+    // Screens (shown inside the shared GameView)
     // ------------------------
 
     /**
-     * showTemporaryBlackout(seconds, after)
-     *  - creates a full-screen black scene for 'seconds' seconds, then runs 'after' Runnable
-     *  - used for transitions that need a cinematic blackout
+     * Screen
+     *  - a location screen built once and swapped back in on every visit
+     *  - remembers the narrative label's initial look, since actions change its text, colour and font
+     *  - onEnter (optional) re-applies per-visit state, e.g. text that depends on the player's name
      */
-    private void showTemporaryBlackout(double seconds, Runnable after) {
-        // Use current stage dimensions to cover screen properly
-        double width = primaryStage.getWidth() > 0 ? primaryStage.getWidth() : 1000;
-        double height = primaryStage.getHeight() > 0 ? primaryStage.getHeight() : 700;
-
-        StackPane black = new StackPane();
-        black.setStyle("-fx-background-color: black;");          // plain black pane
-        black.setPrefSize(width, height);
-
-        Scene blackScene = new Scene(black, width, height);
-        primaryStage.setScene(blackScene);
+    private static final class Screen {
+        final BorderPane overlay;
+        final Label desc;                                // may be null
+        private final Runnable onEnter;                  // may be null
+        private final String text;
+        private final javafx.scene.paint.Paint fill;
+        private final Font font;
+        private final String style;
+
+        Screen(BorderPane overlay, Label desc, Runnable onEnter) {
+            this.overlay = overlay;
+            this.desc = desc;
+            this.onEnter = onEnter;
+            this.text = desc != null ? desc.getText() : null;
+            this.fill = desc != null ? desc.getTextFill() : null;
+            this.font = desc != null ? desc.getFont() : null;
+            this.style = desc != null ? desc.getStyle() : null;
+        }
 
-        PauseTransition p = new PauseTransition(Duration.seconds(seconds));
-        p.setOnFinished(e -> after.run()); // call the continuation
-        p.play();
+        /** restores the label to how it was built, then runs onEnter */
+        void reset() {
+            if (desc != null) {
+                desc.setText(text);
+                desc.setTextFill(fill);
+                desc.setFont(font);
+                desc.setStyle(style);
+            }
+            if (onEnter != null) onEnter.run();
+        }
     }
 
-    // ------------------------
-    // Scene builder
-    // ------------------------
-
     /**
-     * buildScene(bg, overlay, w, h)
-     *  - composits a background image (ImageView) and overlay BorderPane into a Scene with a dark translucent mask
-     *  - ensures background fits to scene size by binding fitWidth/fitHeight
-     *  - overlay contains the actual UI controls and narrative text
+     * enterScreen(key, builder)
+     *  - the cached screen for key, reset for a new visit; on the first visit the prefetched tree is
+     *    committed if its background build has finished, otherwise builder runs here
+     *  - docks the shared inventory panel into the screen's top row when it has one
      */
-    private Scene buildScene(ImageView bg, BorderPane overlay, double w, double h) {
-        StackPane root = new StackPane();
-        root.setPrefSize(w, h);
-
-        if (bg != null) root.getChildren().add(bg);
-        else {
-            // fallback: full-black region if no bg provided
-            Region black = new Region();
-            black.setStyle("-fx-background-color:black;");
-            root.getChildren().add(black);
+    private Screen enterScreen(String key, java.util.function.Supplier<Screen> builder) {
+        Screen screen = screens.get(key);
+        if (screen == null) {
+            screen = prefetcher.take(key);
+            if (screen == null) screen = builder.get();
+            screens.put(key, screen);
         }
-
-        // translucent rectangle to dim background for readability
-        Rectangle dark = new Rectangle();
-        dark.setFill(Color.color(0, 0, 0, 0.35));
-        dark.widthProperty().bind(root.widthProperty());
-        dark.heightProperty().bind(root.heightProperty());
-        root.getChildren().add(dark);
-
-        // add overlay on top (contains controls)
-        root.getChildren().add(overlay);
-        Scene scene = new Scene(root, w, h);
-
-        if (bg != null) {
-            // make the bg scale with window size
-            bg.fitWidthProperty().bind(scene.widthProperty());
-            bg.fitHeightProperty().bind(scene.heightProperty());
+        screen.reset();
+        if (screen.desc != null && inventory != null && screen.desc.getParent() instanceof HBox) {
+            HBox topRow = (HBox) screen.desc.getParent();
+            VBox box = inventory.node();
+            if (box.getParent() != topRow) topRow.getChildren().add(box); // moves it here
+            updateInventoryUI();
         }
-        return scene;
+        return screen;
+    }
+
+    /**
+     * prefetchScreen(key, builder, bgFile)
+     *  - prepares a screen the player can reach from the current one: the node tree is built on the
+     *    prefetch thread (detached nodes only), the background is decoded by the ImageCache in the background
+     *  - screens already built are skipped; builders must not touch shared nodes (see buildTopBar)
+     */
+    private void prefetchScreen(String key, java.util.function.Supplier<Screen> builder, String bgFile) {
+        if (bgFile != null) imageCache.prefetch(bgFile, viewportTier());
+        if (!screens.containsKey(key)) prefetcher.prefetch(key, builder);
+    }
+
+    /**
+     * present(sceneName, bgFile, overlay)
+     *  - shows overlay over bgFile (null or missing: plain black) in the shared view with the dark mask
+     *  - the overlay contains the actual UI controls and narrative text
+     *  - records the switch under sceneName (PerfMonitor); the Scene itself never changes
+     */
+    private void present(String sceneName, String bgFile, Parent overlay) {
+        view.show(loadImage(bgFile), bgFile, overlay);
+
+        // remember the background so a window resize can re-decode it at a better tier
+        currentBg = view.background().getImage() != null ? view.background() : null;
+        currentBgTier = viewportTier();
+        journal.enter(sceneName);
+        perf.show(primaryStage, sceneName, view.scene());
     }
 
     // ------------------------
     // Top bar & inventory
     // ------------------------
 
+    /**
+     * initTopBarWidgets()
+     *  - creates the shared inventory panel (once, FX thread, in start())
+     */
+    private void initTopBarWidgets() {
+        if (inventory == null) inventory = new InventoryPanel();
+        if (answers == null) answers = new AnswerPanel();
+    }
+
     /**
      * buildTopBar(showInventory, descLabel)
-     *  - constructs the top portion of the UI with narrative label on left and optional inventory box on right
-     *  - also lazily initializes the hidden log area (logArea) and inventoryBox
+     *  - constructs the top portion of the UI with narrative label on left and room for the inventory on right
      *  - descLabel is provided by the caller (scene-specific narrative)
+     *  - touches no shared node, so it may run on the prefetch thread: the shared inventory panel is docked
+     *    at the end of the row by enterScreen on the FX thread
      */
     private VBox buildTopBar(boolean showInventory, Label descLabel) {
-        // initialize hidden log area if needed
-        if (logArea == null) {
-            logArea = new TextArea();
-            logArea.setEditable(false);
-            logArea.setWrapText(true);
-            logArea.setPrefRowCount(4);
-            logArea.setFont(Font.font(13));
-            // intentionally not added to the scene graph (hidden)
-        }
-
-        // initialize inventory container if needed
-        if (inventoryBox == null) {
-            inventoryBox = new VBox(4);
-            inventoryBox.setPadding(new Insets(6));
-            inventoryBox.setAlignment(Pos.TOP_RIGHT);
-            inventoryBox.setStyle("-fx-background-color: rgba(0,0,0,0.45); -fx-border-color: #444; -fx-border-width: 1;");
-        }
-
         // configure the narrative label (descLabel)
         descLabel.setWrapText(true);
         descLabel.setFont(Font.font("Serif", 15));
@@ -425,8 +490,7 @@ public class CorridorAdventure extends Application {
         if (showInventory) {
             Region spacer = new Region();
             HBox.setHgrow(spacer, Priority.ALWAYS);
-            updateInventoryUI(); // rebuild inventory contents to reflect game state
-            topRow.getChildren().addAll(spacer, inventoryBox);
+            topRow.getChildren().add(spacer);             // inventory panel goes after it (enterScreen)
         }
 
         VBox container = new VBox(6);
@@ -437,72 +501,29 @@ public class CorridorAdventure extends Application {
 
     /**
      * updateInventoryUI()
-     *  - rebuilds the inventoryBox content according to pendantTaken and collected letters
-     *  - exact formatting intentionally imitates user-specified layout
+     *  - pushes pendantTaken / pendantNumber / collected letters into the inventory panel
+     *  - only lines whose value changed get new text (see InventoryPanel)
      */
     private void updateInventoryUI() {
-        if (inventoryBox == null) return;
-        inventoryBox.getChildren().clear();
-
-        // static magnifying glass line (always present)
-        Label line1 = new Label("1. Magnifying Glass");
-        line1.setTextFill(Color.WHITE);
-        line1.setFont(Font.font(13));
-
-        // pendant line: shows either "not taken" or current lives
-        Label line2 = new Label(
-            pendantTaken
-                ? ("2. Pendant (" + (pendantNumber >= 0 ? pendantNumber : 0) + ")         ")
-                : "2. Pendant (not taken)"
-        );
-        line2.setTextFill(Color.WHITE);
-        line2.setFont(Font.font(13));
-
-        // the L is permanent (per user's spec), other letters show if collected
-        Label line3 = new Label("3. L : " + (pendantTaken ? "L                      " : "_                      "));
-        line3.setTextFill(Color.WHITE);
-        line3.setFont(Font.font(13));
-
-        Label line4 = new Label("4. O : " + (letters.contains('O') ? "O                    " : "_                      "));
-        line4.setTextFill(Color.WHITE);
-        line4.setFont(Font.font(13));
-
-        Label line5 = new Label("5. C : " + (letters.contains('C') ? "C                      " : "_                      "));
-        line5.setTextFill(Color.WHITE);
-        line5.setFont(Font.font(13));
-
-        Label line6 = new Label("6. K : " + (letters.contains('K') ? "K                      " : "_                      "));
-        line6.setTextFill(Color.WHITE);
-        line6.setFont(Font.font(13));
-
-        inventoryBox.getChildren().addAll(line1, line2, new Separator(), line3, line4, line5, line6);
+        if (inventory == null) return;
+        inventory.sync(engine.state());
     }
 
     // ------------------------
     // Prompt & logging utilities
     // ------------------------
 
-    /**
-     * promptForAnswer(title, question)
-     *  - opens a modal TextInputDialog and returns the entered String, or null if cancelled
-     *  - used by puzzle solving logic
-     */
-    private String promptForAnswer(String title, String question) {
-        TextInputDialog dialog = new TextInputDialog();
-        dialog.setTitle(title);
-        dialog.setHeaderText(null);
-        dialog.setContentText(question);
-        Optional<String> result = dialog.showAndWait();
-        return result.orElse(null);
-    }
-
     /**
      * appendText(text)
-     *  - appends a line to the hidden logArea (internal debugging/history)
+     *  - records a narrative line in the event journal (internal debugging/history, F2 viewer)
      */
     private void appendText(String text) {
-        if (logArea == null) return;
-        logArea.appendText(text + "\n");
+        journal.add(EventJournal.Type.NARRATIVE, text);
+    }
+
+    /** appendText(type, text) - journal entry of another type (e.g. PUZZLE for answer results) */
+    private void appendText(EventJournal.Type type, String text) {
+        journal.add(type, text);
     }
 
     /**
@@ -527,6 +548,32 @@ public class CorridorAdventure extends Application {
         }
     }
 
+    // ------------------------
+    // Application init (launcher thread, before start())
+    // ------------------------
+
+    /**
+     * init()
+     *  - memory-maps the packed archive (PACK_PATH) when present; loose files fill any gaps
+     *  - scans the image and sound folders once (in parallel) into the AssetIndex
+     *  - opens the pre-decoded PixelCache when it has been built (PixelCacheBuilder)
+     *  - creates the image cache and audio engine on top of it
+     *  - watches the folders so replaced/added files are picked up without a restart
+     */
+    @Override
+    public void init() {
+        AssetPack pack = AssetPack.open(java.nio.file.Paths.get(PACK_PATH));
+        if (pack != null && !AssetPack.installUrlHandler(pack)) pack = null; // images need capk: URLs
+
+        assets = AssetIndex.build(IMAGE_PATH, SOUND_PATH, pack, IMAGE_CHAINS);
+        PixelCache pixels = PixelCache.open(java.nio.file.Paths.get(PIXEL_CACHE_PATH), assets);
+        imageCache = new ImageCache(assets, pixels, ImageCache.budgetFromProperties());
+        audio = new AudioEngine(assets, AudioEngine.maxPlayersFromProperties());
+
+        // drop stale decoded copies of files that changed on disk (cache is FX-thread only)
+        assets.watch(changed -> Platform.runLater(() -> changed.forEach(imageCache::evict)));
+    }
+
     // ------------------------
     // Application start (entry point after launch())
     // ------------------------
@@ -534,9 +581,81 @@ public class CorridorAdventure extends Application {
     public void start(Stage stage) {
         primaryStage = stage;
         primaryStage.setTitle("Corridor Adventure");
+        view = new GameView(1000, 700);       // the only Scene; screens swap its content
+        if (view.mode() == GameView.RenderMode.BAKED) {
+            imageCache.bakeDim(GameView.DIM_ALPHA, view::backgroundBaked); // cached backgrounds carry the mask
+        }
+        initTopBarWidgets();                  // shared inventory, before any screen is built
+        perf = new PerfMonitor(audio::liveCount);
+        perf.installHud(primaryStage);        // F3 toggles FPS / transition / heap / player overlay
+        watchdog = FxWatchdog.fromProperties(perf::currentScene);
+        perf.setStallSource(watchdog::totalStalls);
+        watchdog.start();
+        quality = QualityController.fromProperties(this::applyQuality, this::logQuality);
+        perf.setPulseListener(quality::onPulse);
+        quality.start();
+        lifecycle = new SceneLifecycle(clock, audio::stop, imageCache::evict, UiKit::stopHoverAnimations);
+        journalView = new JournalView(journal);
+        journalView.install(primaryStage, view.scene()); // F2 opens the event journal
+        installResizeHandling(); // tiered background decoding follows the window size
+        primaryStage.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.SPACE && cutscene != null && cutscene.isRunning()) {
+                cutscene.skip();                 // Space skips the current cutscene stage
+                e.consume();
+            } else if (e.getCode() == KeyCode.F4) {
+                System.out.print(leakReport());  // F4: live scenes / images / players
+                e.consume();
+            }
+        });
+        initAudio();             // register channels and pre-roll the latency-critical ones
         showTitleScreen(); // first scene shown to player
     }
 
+    /**
+     * stop()
+     *  - called by JavaFX on exit; reports image cache effectiveness, audio start latency,
+     *    scene-switch latency and screen prefetch hit rate for tuning
+     */
+    @Override
+    public void stop() {
+        if (cutscene != null) cutscene.cancel();
+        if (lifecycle != null) {
+            System.out.print(leakReport());
+            lifecycle.close();
+        }
+        System.out.println(imageCache.stats());
+        System.out.print(audio.latencyReport());
+        if (perf != null) {
+            System.out.print(perf.report());
+            System.out.print("[render " + view.mode() + "] " + perf.pulseReport());
+            if (answers != null) System.out.print(answers.report());
+        }
+        if (watchdog != null) {
+            watchdog.stop();
+            System.out.println(watchdog.stats());
+        }
+        prefetcher.shutdown();
+        System.out.println(prefetcher.stats());
+        journal.close();
+        System.out.println(journal.stats());
+        if (quality != null) System.out.println(quality.stats());
+        audio.disposeAll();
+    }
+
+    /**
+     * leakReport()
+     *  - what is alive right now: scene visits, cached screens, cached (baked) images, audio players, heap
+     *  - none of it should grow with the number of Retry loops
+     */
+    private String leakReport() {
+        Runtime rt = Runtime.getRuntime();
+        return "Leak report:\n"
+                + "  " + lifecycle.report() + "\n"
+                + "  screens=" + screens.size() + "\n"
+                + "  " + imageCache.stats() + "\n"
+                + "  livePlayers=" + audio.liveCount() + ", heapUsed=" + ((rt.totalMemory() - rt.freeMemory()) >> 20) + "MB\n";
+    }
+
     // ------------------------
     // Scene: Title Screen
     // ------------------------
@@ -550,7 +669,24 @@ public class CorridorAdventure extends Application {
      *  - starts sound_1 (title/credits/walkthrough area music)
      */
     private void showTitleScreen() {
-        ImageView bg = loadImageView("title.jpg");           // background image for title (optional)
+        perf.action();
+        lifecycle.enter("title", CH_AREA);
+        engine.moveTo(GameEngine.Location.TITLE);
+        Screen screen = enterScreen("title", this::buildTitleScreen);
+        present("title", "title.jpg", screen.overlay);       // background image for title (optional)
+        primaryStage.show();
+
+        // Start leads to mansion_out; Credits / Walkthrough are cheap text screens
+        prefetchScreen("mansion_out", this::buildMansionOut, "mansion_out.jpg");
+        prefetchScreen("credits", this::buildCredits, null);
+        prefetchScreen("walkthrough", this::buildWalkthrough, null);
+
+        // Start loop for sound_1 (title/credits/walkthrough & also hallway/puzzle rooms)
+        audio.play(CH_AREA);
+    }
+
+    /** buildTitleScreen() - title overlay (built once; the name field is cleared on every visit) */
+    private Screen buildTitleScreen() {
         BorderPane overlay = new BorderPane();
         overlay.setPrefSize(1000, 700);
 
@@ -577,7 +713,7 @@ public class CorridorAdventure extends Application {
         //  - stop sound_1 (title music) immediately as requested
         //  - set playerName (or default "Detective"), reset game state, then show mansion_out scene
         startBtn.setOnAction(e -> {
-            stopSound(1); // stop title/area background
+            audio.stop(CH_AREA); // stop title/area background
             playerName = nameField.getText().isEmpty() ? "Detective" : nameField.getText();
             resetGameState();
             appendText("You are " + playerName + ", a world-class detective who doesn't let mysteries rest.");
@@ -593,13 +729,7 @@ public class CorridorAdventure extends Application {
         controls.setAlignment(Pos.CENTER);
         controls.setPadding(new Insets(40, 0, 40, 0));
         overlay.setCenter(controls);
-
-        Scene scene = buildScene(bg, overlay, 1000, 700);
-        primaryStage.setScene(scene);
-        primaryStage.show();
-
-        // Start loop for sound_1 (title/credits/walkthrough & also hallway/puzzle rooms)
-        startLoop(1);
+        return new Screen(overlay, null, nameField::clear);
     }
 
     // ------------------------
@@ -609,11 +739,16 @@ public class CorridorAdventure extends Application {
     /**
      * showCredits()
      *  - shows credits text
-     *  - uses sound_1 (title-area music) — we call startLoop(1) to ensure it plays if not already
+     *  - uses sound_1 (title-area music) — we call audio.play(CH_AREA) to ensure it plays if not already
      */
     private void showCredits() {
-        startLoop(1); // ensure title music is active when viewing credits
+        perf.action();
+        lifecycle.enter("credits", CH_AREA);
+        audio.play(CH_AREA); // ensure title music is active when viewing credits
+        present("credits", null, enterScreen("credits", this::buildCredits).overlay);
+    }
 
+    private Screen buildCredits() {
         BorderPane overlay = new BorderPane();
         overlay.setPrefSize(1000,700);
 
@@ -642,8 +777,7 @@ public class CorridorAdventure extends Application {
         BorderPane.setAlignment(back, Pos.BOTTOM_CENTER);
         BorderPane.setMargin(back, new Insets(0,0,40,0));
 
-        Scene s = buildScene(null, overlay, 1000,700);
-        primaryStage.setScene(s);
+        return new Screen(overlay, null, null);
     }
 
     // ------------------------
@@ -655,8 +789,13 @@ public class CorridorAdventure extends Application {
      *  - displays gameplay instructions; sound_1 continues playing
      */
     private void showWalkthrough() {
-        startLoop(1); // ensure title music is active
+        perf.action();
+        lifecycle.enter("walkthrough", CH_AREA);
+        audio.play(CH_AREA); // ensure title music is active
+        present("walkthrough", null, enterScreen("walkthrough", this::buildWalkthrough).overlay);
+    }
 
+    private Screen buildWalkthrough() {
         BorderPane overlay = new BorderPane();
         overlay.setPrefSize(1000,700);
 
@@ -681,8 +820,7 @@ public class CorridorAdventure extends Application {
         BorderPane.setAlignment(back, Pos.BOTTOM_CENTER);
         BorderPane.setMargin(back, new Insets(0,0,40,0));
 
-        Scene s = buildScene(null, overlay, 1000,700);
-        primaryStage.setScene(s);
+        return new Screen(overlay, null, null);
     }
 
     // ------------------------
@@ -696,20 +834,35 @@ public class CorridorAdventure extends Application {
      *  - pressing North stops sound_2 and opens mansion interior (showMansionIn)
      */
     private void showMansionOut() {
-        ImageView bg = loadImageView("mansion_out.jpg");
-        BorderPane overlay = new BorderPane();
+        perf.action();
+        lifecycle.enter("mansion_out", CH_MANSION_OUT);
+        engine.moveTo(GameEngine.Location.MANSION_OUT);
+        Screen screen = enterScreen("mansion_out", this::buildMansionOut);
+        present("mansion_out", "mansion_out.jpg", screen.overlay);
+        prefetchScreen("mansion_in", this::buildMansionIn, "mansion_in.jpg");
 
-        Label desc = new Label(
-        playerName + " — a world-class detective. Rain beads on your collar and the house stares back with blind windows. " +
+        // start sound_2 (mansion outside)
+        audio.play(CH_MANSION_OUT);
+        audio.preroll(CH_MANSION_IN);       // interior loop is the only way forward
+    }
+
+    /** mansionOutText() - the exterior description, addressed to the current player */
+    private String mansionOutText() {
+        return playerName + " — a world-class detective. Rain beads on your collar and the house stares back with blind windows. " +
         "You have come following the trail of numerous missing cases — names and faces that never found their way home.\n\n" +
         "A magnifying glass sits in your pocket, a small, stubborn proof that you won't leave a question unanswered. " +
-        "The mansion's stonework is pitted and patient; shutters rattle with the sighs of rooms that remember."
-            );
+        "The mansion's stonework is pitted and patient; shutters rattle with the sighs of rooms that remember.";
+    }
+
+    private Screen buildMansionOut() {
+        BorderPane overlay = new BorderPane();
+
+        Label desc = new Label(mansionOutText());
         desc.setWrapText(true);
         desc.setTextFill(Color.BLUE);
         desc.setFont(Font.font("Serif", FontWeight.BOLD, 22));
 
-        Node topBar = buildTopBar(true, desc); // top bar includes inventory
+        Node topBar = buildTopBar(true, desc); // top bar includes inventory (docked on entry)
         overlay.setTop(topBar);
         BorderPane.setMargin(topBar, new Insets(8));
 
@@ -719,7 +872,7 @@ public class CorridorAdventure extends Application {
 
         // On click: stop mansion_out music (sound_2) then open mansion interior
         north.setOnAction(e -> {
-            stopSound(2); // ensure sound_2 stops when entering
+            audio.stop(CH_MANSION_OUT); // ensure sound_2 stops when entering
             showMansionIn();
         });
 
@@ -727,12 +880,7 @@ public class CorridorAdventure extends Application {
         center.setAlignment(Pos.TOP_CENTER);
         center.setPadding(new Insets(40,12,12,12));
         overlay.setCenter(center);
-
-        Scene s = buildScene(bg, overlay, 1000,700);
-        primaryStage.setScene(s);
-
-        // start sound_2 (mansion outside)
-        startLoop(2);
+        return new Screen(overlay, desc, () -> desc.setText(mansionOutText())); // player name may have changed
     }
 
     // ------------------------
@@ -744,14 +892,25 @@ public class CorridorAdventure extends Application {
      *  - interior description with Inspect Pendant and Take Pendant buttons
      *  - starts sound_3 (mansion_in loop) when the scene loads
      *  - pressing Take Pendant:
-     *      - marks pendantTaken = true
+     *      - tells the engine the pendant is taken
      *      - stops sound_3 (mansion_in) as requested
      *      - waits 3s, then starts sound_7 for a blackout moment, shows blackout, stops sound_7, then goes to hallway
      *
      *  Note: sound_3 now strictly represents mansion_in loop only.
      */
     private void showMansionIn() {
-        ImageView bg = loadImageView("mansion_in.jpg");
+        perf.action();
+        lifecycle.enter("mansion_in", CH_MANSION_IN);
+        engine.moveTo(GameEngine.Location.MANSION_IN);
+        Screen screen = enterScreen("mansion_in", this::buildMansionIn);
+        present("mansion_in", "mansion_in.jpg", screen.overlay);
+        prefetchScreen("hallway", this::buildHallway, "hallway.jpg");
+
+        // Start mansion_in music (sound_3) when interior loads
+        audio.play(CH_MANSION_IN);
+    }
+
+    private Screen buildMansionIn() {
         BorderPane overlay = new BorderPane();
 
         Label desc = new Label(
@@ -767,19 +926,16 @@ public class CorridorAdventure extends Application {
         Button take = new Button("Take Pendant");
         styleButton(inspect); styleButton(take);
 
-        // Start mansion_in music (sound_3) when interior loads
-        startLoop(3);
-
         // Inspect: updates description & hidden log but doesn't change audio state
         inspect.setOnAction(e -> {
+            int pendantNumber = engine.state().pendantNumber();
             appendText("You study the pendant: the back bears a carved 'L'. The front is a dial currently reading " + pendantNumber + ".");
             desc.setText("You study the pendant: the back bears a carved 'L'. The front is a dial currently reading " + pendantNumber + ".");
         });
 
         // Take: pick up pendant, stop mansion_in audio (sound_3), then blackout sequence with sound_7
         take.setOnAction(e -> {
-            if (!pendantTaken) {
-                pendantTaken = true;
+            if (engine.takePendant() == GameEngine.Event.PENDANT_TAKEN) {
                 updateInventoryUI();
 
                 // textual & UI feedback for taking pendant
@@ -790,22 +946,18 @@ public class CorridorAdventure extends Application {
                 appendText("As you take and admire the Pendant a sharp pain hits Your skull.\n \t You clutch Your head, but everything fades and You awaken in a Dark Corridor.");
 
                 // Stop mansion_in loop immediately (user requested)
-                stopSound(3);
-
-                // Short pause before blackout starts so the text is seen by player
-                PauseTransition pause = new PauseTransition(Duration.seconds(3));
-                pause.setOnFinished(ev -> {
-                    // For the blackout, start sound_7 (blackout/stanza/fail audio)
-                    startLoop(7);
-
-                    // showTemporaryBlackout will show a black screen for PAUSE_MED seconds
-                    // After blackout completes we stop sound_7 and show the hallway
-                    showTemporaryBlackout(PAUSE_MED, () -> {
-                        stopSound(7);
-                        showHallway();
-                    });
-                });
-                pause.play();
+                audio.stop(CH_MANSION_IN);
+
+                // Short pause so the text is seen by player, then a PAUSE_MED blackout scored by sound_7
+                // (blackout/stanza/fail audio); after it we stop sound_7 and show the hallway
+                lifecycle.enter("pendant", CH_STING);
+                playCutscene(Cutscene.named("pendant")
+                        .hold("read", PAUSE_LONG)
+                        .blackout("blackout", PAUSE_MED).audio(CH_STING)
+                        .onFinished(() -> {
+                            audio.stop(CH_STING);
+                            showHallway();
+                        }));
             }
         });
 
@@ -814,9 +966,7 @@ public class CorridorAdventure extends Application {
         bottom.setPadding(new Insets(10));
         overlay.setBottom(bottom);
         BorderPane.setAlignment(bottom, Pos.BOTTOM_CENTER);
-
-        Scene s = buildScene(bg, overlay, 1000,700);
-        primaryStage.setScene(s);
+        return new Screen(overlay, desc, null);
     }
 
     // ------------------------
@@ -830,7 +980,26 @@ public class CorridorAdventure extends Application {
      *  - pressing South stops sound_1 and invokes trySouthDoor()
      */
     private void showHallway() {
-        ImageView bg = loadImageView("hallway.jpg");
+        perf.action();
+        lifecycle.enter("hallway", CH_AREA);
+        engine.moveTo(GameEngine.Location.HALLWAY);
+        Screen screen = enterScreen("hallway", this::buildHallway); // also refreshes the inventory
+        present("hallway", "hallway.jpg", screen.overlay);
+
+        // the hallway only leads to the three puzzle rooms and the south door
+        for (String room : new String[] { "Room 1", "Storage", "Study" }) {
+            prefetchScreen("room:" + room, () -> buildPuzzleRoom(room), roomBackgroundFor(room));
+        }
+        prefetchScreen("south_door", this::buildSouthDoor, assets.resolveImage(IMG_SOUTH_DOOR));
+
+        // Ensure the general area music (sound_1) is playing in hallway/puzzle rooms
+        audio.play(CH_AREA);
+
+        // South is reachable from here; have its music ready before the button is pressed
+        audio.preroll(CH_SOUTH_DOOR);
+    }
+
+    private Screen buildHallway() {
         BorderPane overlay = new BorderPane();
 
         Label desc = new Label(
@@ -855,7 +1024,7 @@ public class CorridorAdventure extends Application {
 
         // South behavior: stop general area music (sound_1) then attempt door
         south.setOnAction(e -> {
-            stopSound(1); // per request: close music loop when pressing South(exit)
+            audio.stop(CH_AREA); // per request: close music loop when pressing South(exit)
             trySouthDoor();
         });
 
@@ -873,14 +1042,7 @@ public class CorridorAdventure extends Application {
 
         VBox bottomBox = new VBox(south); bottomBox.setAlignment(Pos.BOTTOM_CENTER); bottomBox.setPadding(new Insets(0,0,28,0));
         overlay.setBottom(bottomBox);
-
-        updateInventoryUI(); // refresh inventory to current state
-
-        Scene s = buildScene(bg, overlay, 1000,700);
-        primaryStage.setScene(s);
-
-        // Ensure the general area music (sound_1) is playing in hallway/puzzle rooms
-        startLoop(1);
+        return new Screen(overlay, desc, null);
     }
 
     // ------------------------
@@ -894,50 +1056,32 @@ public class CorridorAdventure extends Application {
      *  - if player has O,C,K -> stop sound_4 and call showEscapeSequence()
      *  - if not -> start sound_7 for lock-stanza/fail audio, decrement pendantNumber, update inventory UI
      *      -> if pendantNumber <= 0: stop sounds and run death sequence
-     *      -> otherwise: stop temp sounds and return to hallway after a PauseTransition
+     *      -> otherwise: stop temp sounds and return to hallway after a PAUSE_MED delay
      */
     private void trySouthDoor() {
+        perf.action();
+        SceneLifecycle.Scope scope = lifecycle.enter("south_door", CH_SOUTH_DOOR);
         // Ensure sound_1 (general area) is stopped (caller already did this; keep safety)
-        stopSound(1);
+        audio.stop(CH_AREA);
 
         // Start south-door-specific music (sound_4)
-        startLoop(4);
-
-        // Candidate backgrounds: exit.jpg preferred, fallback to mansion_out.jpg if none
-        String[] candidates = { "exit.jpg", "exit.png", "mansion_out.jpg" };
-        String chosen = null;
-        for (String c : candidates) {
-            if (fileExists(c)) { chosen = c; break; }
-        }
-        ImageView bg = chosen != null ? loadImageView(chosen) : null;
-
-        // Transparent overlay (so we only see bg and centered text)
-        BorderPane overlay = new BorderPane();
-        overlay.setStyle("-fx-background-color: transparent;");
-
-        // Primary attempt message label (center)
-        Label attemptText = new Label("You press your hand to the heavy southern door and pull. It resists with centuries of rust.");
-        attemptText.setWrapText(true);
-        attemptText.setFont(Font.font(20));
-        attemptText.setMaxWidth(600);
-        attemptText.setAlignment(Pos.CENTER);
-        attemptText.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
-        attemptText.setStyle("-fx-text-fill: #B7410E; -fx-background-color: transparent;"); // rusty text
+        audio.play(CH_SOUTH_DOOR);
 
-        StackPane centerPane = new StackPane(attemptText);
-        centerPane.setAlignment(Pos.CENTER);
-        centerPane.setStyle("-fx-background-color: transparent;");
-        overlay.setCenter(centerPane);
+        // Candidate backgrounds: exit.jpg preferred, fallback to mansion_out.jpg if none (chain resolved at scan time)
+        String chosen = assets.resolveImage(IMG_SOUTH_DOOR);
 
-        Scene s = buildScene(bg, overlay, 1000, 700);
-        primaryStage.setScene(s);
+        // built once (usually prefetched from the hallway); its label is reset for every attempt
+        Screen screen = enterScreen("south_door", this::buildSouthDoor);
+        Label attemptText = screen.desc;
+        present("south_door", chosen, screen.overlay);
 
-        // Short pause to simulate the door attempt cinematic
-        PauseTransition pause = new PauseTransition(Duration.seconds(PAUSE_MED));
-        pause.setOnFinished(ev -> {
-            if (letters.contains('O') && letters.contains('C') && letters.contains('K')) {
+        // Short pause to simulate the door attempt cinematic (cancelled if the scene is left first)
+        scope.after(PAUSE_MED, () -> {
+            int before = engine.state().pendantNumber();     // lock stanza shows the value before the decrement
+            GameEngine.Event outcome = engine.trySouthDoor();
+            if (outcome == GameEngine.Event.ESCAPED) {
                 // Player has all letters -> success path
-                stopSound(4); // stop south-door music before escaping
+                audio.stop(CH_SOUTH_DOOR); // stop south-door music before escaping
                 appendText("You assemble the letters and press them into the dial. The mechanism accepts them with a shudder.");
                 showEscapeSequence();
             } else {
@@ -947,28 +1091,46 @@ public class CorridorAdventure extends Application {
 
 
                 // Put stanza text into the label (visual) and into the hidden log (printLockStanzaLocal)
-                printLockStanzaLocal(pendantNumber, attemptText);
+                printLockStanzaLocal(before, attemptText);
 
-                // decrement pendant lives and update inventory UI
-                pendantNumber--;
+                // engine already decremented pendant lives; update inventory UI
                 updateInventoryUI();
 
-                if (pendantNumber <= 0) {
+                if (outcome == GameEngine.Event.DIED) {
                     // player dead: stop temporary sounds and begin death sequence
-                    stopSound(4);
+                    audio.stop(CH_SOUTH_DOOR);
                     showDeathSequence();
                 } else {
                     // Not dead yet: after a small pause stop the temp sounds and return to hallway
-                    PauseTransition p2 = new PauseTransition(Duration.seconds(PAUSE_MED));
-                    p2.setOnFinished(ev2 -> {
-                        stopSound(4);
+                    scope.after(PAUSE_MED, () -> {
+                        audio.stop(CH_SOUTH_DOOR);
                         showHallway();
                     });
-                    p2.play();
                 }
             }
         });
-        pause.play();
+    }
+
+    /** buildSouthDoor() - the door attempt screen: background and centered attempt text only */
+    private Screen buildSouthDoor() {
+        // Transparent overlay (so we only see bg and centered text)
+        BorderPane overlay = new BorderPane();
+        overlay.setStyle("-fx-background-color: transparent;");
+
+        // Primary attempt message label (center)
+        Label attemptText = new Label("You press your hand to the heavy southern door and pull. It resists with centuries of rust.");
+        attemptText.setWrapText(true);
+        attemptText.setFont(Font.font(20));
+        attemptText.setMaxWidth(600);
+        attemptText.setAlignment(Pos.CENTER);
+        attemptText.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
+        attemptText.setStyle("-fx-text-fill: #B7410E; -fx-background-color: transparent;"); // rusty text
+
+        StackPane centerPane = new StackPane(attemptText);
+        centerPane.setAlignment(Pos.CENTER);
+        centerPane.setStyle("-fx-background-color: transparent;");
+        overlay.setCenter(centerPane);
+        return new Screen(overlay, attemptText, null);
     }
 
     /**
@@ -1009,7 +1171,18 @@ public class CorridorAdventure extends Application {
      *  - starts sound_1 (general area music) while inside
      */
     private void showPuzzleRoom(String roomName) {
-        ImageView bg = loadImageView(roomBackgroundFor(roomName));
+        perf.action();
+        lifecycle.enter("room:" + roomName, CH_AREA).onExit(answers::dismiss); // an open question ends with the visit
+        GameEngine.Room room = GameEngine.Room.byName(roomName);
+        if (room != null) engine.moveTo(room.location);
+        Screen screen = enterScreen("room:" + roomName, () -> buildPuzzleRoom(roomName));
+        present(roomName, roomBackgroundFor(roomName), screen.overlay);
+
+        // Ensure general area music plays in puzzle rooms
+        audio.play(CH_AREA);
+    }
+
+    private Screen buildPuzzleRoom(String roomName) {
         BorderPane overlay = new BorderPane();
 
         Label desc = new Label(roomDescription(roomName));
@@ -1019,15 +1192,12 @@ public class CorridorAdventure extends Application {
         overlay.setTop(buildTopBar(true, desc));
         BorderPane.setMargin(overlay.getTop(), new Insets(6));
 
-        // Buttons: Inspect (gives hint), Solve (prompts user), Back (return to hallway)
+        // Buttons: Inspect (gives hint), Solve (asks for the answer), Back (return to hallway)
         Button inspect = new Button("Inspect Room");
         Button solve = new Button("Solve");
         Button back = new Button("Back");
         styleButton(inspect); styleButton(solve); styleButton(back);
 
-        // Ensure general area music plays in puzzle rooms
-        startLoop(1);
-
         // Inspect adds descriptive hints to the room label and hidden log
         inspect.setOnAction(e -> {
             switch (roomName) {
@@ -1049,17 +1219,15 @@ public class CorridorAdventure extends Application {
             }
         });
 
-        // Solve routes to doSolve which handles puzzle answers & failure behavior
-        solve.setOnAction(e -> doSolve(roomName, desc));
+        // Solve routes to doSolve, which opens the answer panel; checkAnswer handles answers & failure behavior
+        solve.setOnAction(e -> doSolve(roomName, overlay, desc));
         back.setOnAction(e -> showHallway()); // Back returns to hallway
 
         HBox bottom = new HBox(12, inspect, solve, back);
         bottom.setAlignment(Pos.CENTER);
         bottom.setPadding(new Insets(10));
         overlay.setBottom(bottom);
-
-        Scene s = buildScene(bg, overlay, 1000,700);
-        primaryStage.setScene(s);
+        return new Screen(overlay, desc, null);
     }
 
     // Helper: human-readable room descriptions (unchanged)
@@ -1091,74 +1259,76 @@ public class CorridorAdventure extends Application {
     // ------------------------
 
     /**
-     * doSolve(room, desc)
-     *  - prompts the user with a puzzle-specific question and checks the answer
-     *  - correct answers add letters to inventory and update UI
-     *  - incorrect answers call failPuzzleAndReturn which handles decrementing pendantNumber and audio/visual feedback
+     * doSolve(room, overlay, desc)
+     *  - asks the puzzle-specific question in the inline answer panel (returns at once, see AnswerPanel)
+     *  - the answer is checked by checkAnswer when the player submits it
      */
-    private void doSolve(String room, Label desc) {
-        if (ended) return;
-        String ans;
-        switch (room) {
-            case "Room 1":
-                if (solved.getOrDefault("room1", false)) { appendText("You've already solved this."); desc.setText("You've already solved this."); return; }
-                ans = promptForAnswer("Room 1 Puzzle", "Room 1 riddle:\n'I appear round in moon and door. I am one complete circle. What letter am I?'");
-                if (ans != null && ans.trim().equalsIgnoreCase("o")) {
-                    letters.add('O'); solved.put("room1", true);
-                    appendText("Correct. The tile yields the letter 'O'.");
-                    desc.setText("Correct. The tile yields the letter 'O'.");
-                    updateInventoryUI();
-                } else {
-                    appendText("That's not right.");
-                    desc.setText("That's not right.");
-                    failPuzzleAndReturn(room, desc);
-                }
+    private void doSolve(String room, BorderPane overlay, Label desc) {
+        GameEngine.Room r = GameEngine.Room.byName(room);
+        if (r == null || engine.state().ended()) return;
+        switch (r) {
+            case ROOM_1:
+                if (engine.state().isSolved(r)) { appendText("You've already solved this."); desc.setText("You've already solved this."); return; }
+                answers.ask(overlay, "Room 1 Puzzle", "Room 1 riddle:\n'I appear round in moon and door. I am one complete circle. What letter am I?'",
+                        ans -> checkAnswer(r, desc, ans, "Correct. The tile yields the letter 'O'.", "That's not right."));
                 break;
-            case "Storage":
-                if (solved.getOrDefault("storage", false)) { appendText("Storage puzzle already solved."); desc.setText("Storage puzzle already solved."); return; }
-                ans = promptForAnswer("Storage Puzzle", "Storage puzzle:\n'A crescent curve.' Type the single letter.");
-                if (ans != null && ans.trim().equalsIgnoreCase("c")) {
-                    letters.add('C'); solved.put("storage", true);
-                    appendText("Correct. You find the letter 'C'.");
-                    desc.setText("Correct. You find the letter 'C'.");
-                    updateInventoryUI();
-                } else {
-                    appendText("Nothing happens.");
-                    desc.setText("Nothing happens.");
-                    failPuzzleAndReturn(room, desc);
-                }
+            case STORAGE:
+                if (engine.state().isSolved(r)) { appendText("Storage puzzle already solved."); desc.setText("Storage puzzle already solved."); return; }
+                answers.ask(overlay, "Storage Puzzle", "Storage puzzle:\n'A crescent curve.' Type the single letter.",
+                        ans -> checkAnswer(r, desc, ans, "Correct. You find the letter 'C'.", "Nothing happens."));
                 break;
-            case "Study":
-                if (solved.getOrDefault("study", false)) { appendText("Study puzzle already solved."); desc.setText("Study puzzle already solved."); return; }
-                ans = promptForAnswer("Study Puzzle", "Study puzzle:\n'Silent in knife; starts knock.' Which letter?");
-                if (ans != null && ans.trim().equalsIgnoreCase("k")) {
-                    letters.add('K'); solved.put("study", true);
-                    appendText("Correct. The drawer reveals 'K'.");
-                    desc.setText("Correct. The drawer reveals 'K'.");
-                    updateInventoryUI();
-                } else {
-                    appendText("The clue resists you.");
-                    desc.setText("The clue resists you.");
-                    failPuzzleAndReturn(room, desc);
-                }
+            case STUDY:
+                if (engine.state().isSolved(r)) { appendText("Study puzzle already solved."); desc.setText("Study puzzle already solved."); return; }
+                answers.ask(overlay, "Study Puzzle", "Study puzzle:\n'Silent in knife; starts knock.' Which letter?",
+                        ans -> checkAnswer(r, desc, ans, "Correct. The drawer reveals 'K'.", "The clue resists you."));
                 break;
         }
     }
 
+    /**
+     * checkAnswer(room, desc, ans, right, wrong)
+     *  - ans is the submitted text, or null if the player cancelled (counts as a wrong answer, as before)
+     *  - correct answers add letters to inventory and update UI
+     *  - incorrect answers (engine already took a pendant life) call failPuzzleAndReturn for audio/visual feedback
+     */
+    private void checkAnswer(GameEngine.Room room, Label desc, String ans, String right, String wrong) {
+        if (engine.state().ended()) return;
+        if (attempt(room, ans) == GameEngine.Event.LETTER_FOUND) {
+            appendText(EventJournal.Type.PUZZLE, right);
+            desc.setText(right);
+            updateInventoryUI();
+        } else {
+            appendText(EventJournal.Type.PUZZLE, wrong);
+            desc.setText(wrong);
+            failPuzzleAndReturn(room.displayName, desc);
+        }
+    }
+
     // ------------------------
     // Fail handling
     // ------------------------
 
+    /**
+     * attempt(room, ans)
+     *  - submits the typed answer to the engine and reports it as a corridor.PuzzleAttempt JFR event
+     */
+    private GameEngine.Event attempt(GameEngine.Room room, String ans) {
+        GameEngine.Event outcome = engine.answer(room, ans);
+        GameEvents.puzzleAttempt(room.displayName, outcome == GameEngine.Event.LETTER_FOUND,
+                engine.state().pendantNumber(), outcome.name());
+        return outcome;
+    }
+
     /**
      * failPuzzleAndReturn(room, desc)
-     *  - decrements pendantNumber on wrong answers (but clamps at 0)
+     *  - called after the engine has taken a pendant life for a wrong answer (clamped at 0)
      *  - updates the UI, prints stanza to hidden log via printLockStanza
      *  - plays sound_7 (puzzle-fail/stanza audio) for the failure pause duration, then returns to same room
      *  - if lives drop to 0, invokes showDeathSequence (stops relevant audio first)
      */
     private void failPuzzleAndReturn(String room, Label desc) {
-        // decrement lives on failure, clamp at 0
-        pendantNumber = Math.max(pendantNumber - 1, 0);
+        perf.action();
+        int pendantNumber = engine.state().pendantNumber();
 
         // immediate UI update
         updateInventoryUI();
@@ -1168,19 +1338,19 @@ public class CorridorAdventure extends Application {
 
         if (pendantNumber <= 0) {
             // death path: stop area & stanza music then show death
-            stopSound(1);
-            stopSound(7); // ensure stanza/fail sound stopped
-            stopSound(4);
+            audio.stop(CH_AREA);
+            audio.stop(CH_STING); // ensure stanza/fail sound stopped
+            audio.stop(CH_SOUTH_DOOR);
             showDeathSequence();
             return;
         }
 
-        // show short failure message centered over room background
+        // show short failure message centered over room background (area music keeps playing)
+        SceneLifecycle.Scope scope = lifecycle.enter("puzzle_fail", CH_AREA, CH_STING);
         String message = "The pendant grows colder. You steel yourself to try again.";
         appendText("A chill runs through you as the puzzle slips away...");
 
         String bgFile = roomBackgroundFor(room);
-        ImageView bg = (bgFile != null && fileExists(bgFile)) ? loadImageView(bgFile) : null;
 
         BorderPane overlay = new BorderPane();
         overlay.setStyle("-fx-background-color: transparent;");
@@ -1199,19 +1369,85 @@ public class CorridorAdventure extends Application {
         centerPane.setStyle("-fx-background-color: transparent;");
         overlay.setCenter(centerPane);
 
-        Scene s = buildScene(bg, overlay, 1000, 700);
-        primaryStage.setScene(s);
+        present("puzzle_fail", (bgFile != null && fileExists(bgFile)) ? bgFile : null, overlay);
 
         // Play sound_7 for puzzle-fail moment
-        startLoop(7);
+        audio.trigger(CH_STING);
 
         // After a pause, stop the fail audio and return to the same puzzle room
-        PauseTransition p = new PauseTransition(Duration.seconds(PAUSE_MED));
-        p.setOnFinished(ev -> {
-            stopSound(7);
+        scope.after(PAUSE_MED, () -> {
+            audio.stop(CH_STING);
             showPuzzleRoom(room);
         });
-        p.play();
+    }
+
+    // ------------------------
+    // Cutscenes
+    // ------------------------
+
+    /**
+     * CutsceneDirector
+     *  - puts cutscene stages into the shared view (recorded as "<sequence>:<stage>" by PerfMonitor)
+     *  - prepare() starts the background decode of a stage's image and pre-rolls its audio cue
+     */
+    private final class CutsceneDirector implements Cutscene.Director {
+        @Override
+        public void show(Cutscene cutscene, Cutscene.Step step, Parent content) {
+            perf.action();
+            String name = cutscene.sequence() + ":" + step.name;
+            if (content == null) {
+                view.blackout();                          // black root only, already window-sized
+                currentBg = null;                         // nothing to re-decode on resize
+                journal.enter(name);
+                perf.show(primaryStage, name, view.scene());
+            } else {
+                present(name, step.image, content);
+            }
+        }
+
+        @Override
+        public void cue(String channel) {
+            audio.trigger(channel);
+        }
+
+        @Override
+        public void prepare(Cutscene.Step step) {
+            if (step.image != null) imageCache.prefetch(step.image, viewportTier());
+            if (step.audio() != null) audio.preroll(step.audio());
+        }
+
+        @Override
+        public boolean ready(Cutscene.Step step) {
+            // a peek: polled while the stage waits, so no hit counting / JFR event / LRU touch
+            return step.image == null || imageCache.isReady(step.image, viewportTier());
+        }
+    }
+
+    /**
+     * playCutscene(sequence)
+     *  - builds and plays the sequence; a cutscene still running is cancelled first
+     *  - the sequence belongs to the current scene visit and is cancelled when it ends
+     */
+    private void playCutscene(Cutscene.Builder sequence) {
+        if (cutscene != null) cutscene.cancel();
+        Cutscene playing = sequence.build(director, clock);
+        cutscene = playing;
+        lifecycle.current().onExit(playing::cancel);
+        playing.play();
+    }
+
+    /**
+     * captionOverlay(text, fill, size)
+     *  - overlay with a single wrapped caption in the center (cutscene stages)
+     */
+    private BorderPane captionOverlay(String text, Color fill, double size) {
+        BorderPane overlay = new BorderPane();
+        Label caption = new Label(text);
+        caption.setWrapText(true);
+        caption.setTextFill(fill);
+        caption.setFont(Font.font(size));
+        overlay.setCenter(caption);
+        return overlay;
     }
 
     // ------------------------
@@ -1227,126 +1463,68 @@ public class CorridorAdventure extends Application {
      *      4) final death text + Retry/Exit buttons; stop death music when final screen is displayed
      *
      *  - sound_5 is used to score the "shadows" + death stages (starts at shadow stage).
+     *  - the cutscene decodes shadows.png and pre-rolls sound_5 while the earlier stages play
      */
     private void showDeathSequence() {
-        // Step 1: show exit_2.jpg (fallback to shadow.png)
-        String firstImg = fileExists("exit_2.jpg") ? "exit_2.jpg" : (fileExists("shadow.png") ? "shadow.png" : null);
-        ImageView bg1 = loadImageView(firstImg);
-
-        BorderPane overlay1 = new BorderPane();
-        Label p1 = new Label("A sudden shudder runs through the chamber.");
-        p1.setWrapText(true);
-        p1.setTextFill(Color.RED);
-        p1.setFont(Font.font(16));
-        overlay1.setCenter(p1);
-
-        primaryStage.setScene(buildScene(bg1, overlay1, 1000, 700));
-
-        // Wait ~3s on first image, then blackout stage
-        PauseTransition wait1 = new PauseTransition(Duration.seconds(PAUSE_LONG));
-        wait1.setOnFinished(ev1 -> {
-            // Blackout stage (no death music yet)
-            showTemporaryBlackout(BLACKOUT_DEATH, () -> {
-                // Step 3: show shadow.png explicitly for ~3s and start death music (sound_5)
-                String shadowImg = fileExists("shadows.png") ? "shadows.png" : null;
-                ImageView bg2 = loadImageView(shadowImg);
-
-                BorderPane overlay2 = new BorderPane();
-                Label p2 = new Label("Shadows rise like a tide, swallowing every inch of light.");
-                p2.setWrapText(true);
-                p2.setTextFill(Color.web("#a303ff"));
-                p2.setFont(Font.font(18));
-                overlay2.setCenter(p2);
-
-                // Start death sequence music (sound_5) at the shadow stage
-                startLoop(5);
-
-                primaryStage.setScene(buildScene(bg2, overlay2, 1000, 700));
-
-                // Wait ~3s, then show final death screen (stop death music when final screen appears)
-                PauseTransition wait2 = new PauseTransition(Duration.seconds(PAUSE_LONG));
-                wait2.setOnFinished(ev2 -> {
-                    // Final death scene background (mansion_out if present)
-                    String bgFinal = fileExists("mansion_out.jpg") ? "mansion_out.jpg" : null;
-                    ImageView bgFinalView = loadImageView(bgFinal);
-
-                    BorderPane finalOverlay = new BorderPane();
-                    Label endText = new Label(
-                        "The door never opens. The mansion exhales its last breath, and you are swallowed in silence...\n\n \t\t\t\t\t\t\t--- Ending: Death ---"
-                    );
-                    endText.setWrapText(true);
-                    endText.setTextFill(Color.web("#ff3333"));
-                    endText.setFont(Font.font("Serif", 20));
-
+        perf.action();
+        String firstImg = assets.resolveImage(IMG_DEATH_FIRST);              // exit_2.jpg, fallback shadow.png
+        String shadowImg = fileExists("shadows.png") ? "shadows.png" : null;
+        String bgFinal = fileExists("mansion_out.jpg") ? "mansion_out.jpg" : null; // final death background
+
+        SceneLifecycle.Scope scope = lifecycle.enter("death", CH_DEATH);
+        scope.image(shadowImg);                                              // one-off: released if left early
+        playCutscene(Cutscene.named("death")
+                .screen("first_image", firstImg,
+                        () -> captionOverlay("A sudden shudder runs through the chamber.", Color.RED, 16), PAUSE_LONG)
+                .blackout("blackout", BLACKOUT_DEATH)                        // no death music yet
+                .screen("shadows", shadowImg,
+                        () -> captionOverlay("Shadows rise like a tide, swallowing every inch of light.", Color.web("#a303ff"), 18),
+                        PAUSE_LONG)
+                .audio(CH_DEATH)                                             // death music starts at the shadow stage
+                .screen("final", bgFinal, () -> endingScreen("death_final", this::buildDeathFinal), 0)
+                .then(() -> {
                     // Stop death music now that final death screen is shown
-                    stopSound(5);
+                    audio.stop(CH_DEATH);
+                    // shadows.png is only needed by the shadow stage; release it from the cache
+                    imageCache.evict("shadows.png");
+                }));
+    }
 
-                    // Retry & Exit buttons on the final death screen
-                    Button retryBtn = new Button("Retry");
-                    retryBtn.setOnAction(e -> {
-                        System.out.println("Retry from death scene.");
-                        showTitleScreen();
-                    });
+    /**
+     * endingScreen(key, builder)
+     *  - final ending overlay, built on the first ending and reused by every later one (Retry loops)
+     */
+    private BorderPane endingScreen(String key, java.util.function.Supplier<BorderPane> builder) {
+        return screens.computeIfAbsent(key, k -> new Screen(builder.get(), null, null)).overlay;
+    }
 
-                    Button exitBtn = new Button("    Exit   ");
-                    exitBtn.setOnAction(e -> {
-                        System.out.println("Game exited from death scene.");
-                        Platform.exit();
-                    });
+    /** buildDeathFinal() - final death text with Retry / Exit buttons */
+    private BorderPane buildDeathFinal() {
+        BorderPane finalOverlay = new BorderPane();
+        Label endText = new Label(
+            "The door never opens. The mansion exhales its last breath, and you are swallowed in silence...\n\n \t\t\t\t\t\t\t--- Ending: Death ---"
+        );
+        endText.setWrapText(true);
+        endText.setTextFill(Color.web("#ff3333"));
+        endText.setFont(Font.font("Serif", 20));
+
+        // Retry & Exit buttons on the final death screen (rounded ending style, shared shadow + hover)
+        Button retryBtn = UiKit.endingButton("Retry", true);
+        retryBtn.setOnAction(e -> {
+            System.out.println("Retry from death scene.");
+            showTitleScreen();
+        });
 
-                    // Button styling and hover effects (cosmetic)
-                    String style = "-fx-font-size: 14px;"
-                             + "-fx-background-color: black;"
-                             + "-fx-text-fill: white;"
-                             + "-fx-font-weight: bold;"
-                             + "-fx-padding: 6 12 6 12;"
-                             + "-fx-border-color: #666;"
-                             + "-fx-border-width: 1;"
-                             + "-fx-background-radius: 6;"
-                             + "-fx-border-radius: 6;";
-                    retryBtn.setStyle(style);
-                    exitBtn.setStyle(style);
-
-                    DropShadow ds = new DropShadow();
-                    ds.setRadius(6);
-                    ds.setOffsetY(2);
-                    ds.setColor(Color.color(0, 0, 0, 0.5));
-                    retryBtn.setEffect(ds);
-                    exitBtn.setEffect(ds);
-
-                    double hoverScale = 0.96;
-                    Duration dur = Duration.millis(120);
-
-                    ScaleTransition stEnterRetry = new ScaleTransition(dur, retryBtn);
-                    stEnterRetry.setToX(hoverScale);
-                    stEnterRetry.setToY(hoverScale);
-                    ScaleTransition stExitRetry = new ScaleTransition(dur, retryBtn);
-                    stExitRetry.setToX(1.0);
-                    stExitRetry.setToY(1.0);
-                    retryBtn.setOnMouseEntered(e -> { stExitRetry.stop(); stEnterRetry.playFromStart(); });
-                    retryBtn.setOnMouseExited(e -> { stEnterRetry.stop(); stExitRetry.playFromStart(); });
-
-                    ScaleTransition stEnterExit = new ScaleTransition(dur, exitBtn);
-                    stEnterExit.setToX(hoverScale);
-                    stEnterExit.setToY(hoverScale);
-                    ScaleTransition stExitExit = new ScaleTransition(dur, exitBtn);
-                    stExitExit.setToX(1.0);
-                    stExitExit.setToY(1.0);
-                    exitBtn.setOnMouseEntered(e -> { stExitExit.stop(); stEnterExit.playFromStart(); });
-                    exitBtn.setOnMouseExited(e -> { stEnterExit.stop(); stExitExit.playFromStart(); });
-
-                    VBox vbox = new VBox(20, endText, retryBtn, exitBtn);
-                    vbox.setAlignment(Pos.CENTER);
-                    finalOverlay.setCenter(vbox);
-
-                    Scene deathScene = buildScene(bgFinalView, finalOverlay, 1000, 700);
-                    primaryStage.setScene(deathScene);
-                });
-
-                wait2.play();
-            });
+        Button exitBtn = UiKit.endingButton("    Exit   ", true);
+        exitBtn.setOnAction(e -> {
+            System.out.println("Game exited from death scene.");
+            Platform.exit();
         });
-        wait1.play();
+
+        VBox vbox = new VBox(20, endText, retryBtn, exitBtn);
+        vbox.setAlignment(Pos.CENTER);
+        finalOverlay.setCenter(vbox);
+        return finalOverlay;
     }
 
     // ------------------------
@@ -1362,94 +1540,47 @@ public class CorridorAdventure extends Application {
      *  - sound_6 is intended to play across the cinematic and is stopped when final escape screen is shown
      */
     private void showEscapeSequence() {
-        // Step 1 background
-        String escImg = fileExists("escape.jpg") ? "escape.jpg" : (fileExists("escape.png") ? "escape.png" : null);
-        ImageView bg1 = loadImageView(escImg);
-
-        BorderPane overlay1 = new BorderPane();
-        Label t1 = new Label("Light floods the corridor. The heavy lock surrenders with an anguished groan.");
-        t1.setWrapText(true);
-        t1.setTextFill(Color.BLUEVIOLET);
-        t1.setFont(Font.font(25));
-        overlay1.setCenter(t1);
-
-        primaryStage.setScene(buildScene(bg1, overlay1, 1000, 700));
-
-        // Start escape music (sound_6)
-        startLoop(6);
-
-        PauseTransition p1 = new PauseTransition(Duration.seconds(PAUSE_LONG)); // ~3s
-        p1.setOnFinished(ev1 -> {
-            // Step 2: show mansion_out.jpg and final escape text/buttons
-            ImageView bg2 = loadImageView("mansion_out.jpg");
-            BorderPane overlay2 = new BorderPane();
-
-            Label t2 = new Label(
-                "You step out onto cold, wet grass. The mansion shrinks behind you.\n\n\t\t\t\t\t--- Ending: Escape ---"
-            );
-            t2.setWrapText(true);
-            t2.setTextFill(Color.CORAL);
-            t2.setFont(Font.font(16));
-
-            // Stop escape music now that final escape screen is shown
-            stopSound(6);
-
-            // Buttons for restart or exit (cosmetic + functional)
-            Button restartBtn = new Button(" Restart ");
-            restartBtn.setOnAction(e -> showTitleScreen());
-
-            Button exitBtn = new Button("      Escape      ");
-            exitBtn.setOnAction(e -> Platform.exit());
-
-            String style = "-fx-background-color: rgba(0,0,0,0.75);"
-                 + "-fx-text-fill: white;"
-                 + "-fx-font-weight: bold;"
-                 + "-fx-padding: 6 12 6 12;"
-                 + "-fx-border-color: #666;"
-                 + "-fx-border-width:1;";
-            restartBtn.setStyle(style);
-            exitBtn.setStyle(style);
-
-            DropShadow ds = new DropShadow();
-            ds.setRadius(6);
-            ds.setOffsetY(2);
-            ds.setColor(Color.color(0, 0, 0, 0.5));
-            restartBtn.setEffect(ds);
-            exitBtn.setEffect(ds);
-
-            double hoverScale = 0.96;
-            Duration dur = Duration.millis(120);
-
-            ScaleTransition stEnterR = new ScaleTransition(dur, restartBtn);
-            stEnterR.setToX(hoverScale);
-            stEnterR.setToY(hoverScale);
-
-            ScaleTransition stExitR = new ScaleTransition(dur, restartBtn);
-            stExitR.setToX(1.0);
-            stExitR.setToY(1.0);
-
-            restartBtn.setOnMouseEntered(e -> { stExitR.stop(); stEnterR.playFromStart(); });
-            restartBtn.setOnMouseExited(e -> { stEnterR.stop(); stExitR.playFromStart(); });
-
-            ScaleTransition stEnterE = new ScaleTransition(dur, exitBtn);
-            stEnterE.setToX(hoverScale);
-            stEnterE.setToY(hoverScale);
-
-            ScaleTransition stExitE = new ScaleTransition(dur, exitBtn);
-            stExitE.setToX(1.0);
-            stExitE.setToY(1.0);
-
-            exitBtn.setOnMouseEntered(e -> { stExitE.stop(); stEnterE.playFromStart(); });
-            exitBtn.setOnMouseExited(e -> { stEnterE.stop(); stExitE.playFromStart(); });
-
-            VBox vbox = new VBox(20, t2, restartBtn, exitBtn);
-            vbox.setAlignment(Pos.CENTER);
-            overlay2.setCenter(vbox);
-
-            Scene finalScene = buildScene(bg2, overlay2, 1000, 700);
-            primaryStage.setScene(finalScene);
-        });
-        p1.play();
+        perf.action();
+        String escImg = assets.resolveImage(IMG_ESCAPE_FIRST);             // escape.jpg / escape.png
+
+        SceneLifecycle.Scope scope = lifecycle.enter("escape", CH_ESCAPE);
+        scope.image(escImg);                                                 // one-off: released if left early
+        playCutscene(Cutscene.named("escape")
+                .screen("escape_image", escImg,
+                        () -> captionOverlay("Light floods the corridor. The heavy lock surrenders with an anguished groan.", Color.BLUEVIOLET, 25),
+                        PAUSE_LONG)
+                .audio(CH_ESCAPE)                                            // escape music (sound_6)
+                .screen("final", "mansion_out.jpg", () -> endingScreen("escape_final", this::buildEscapeFinal), 0)
+                .then(() -> {
+                    // Stop escape music now that final escape screen is shown
+                    audio.stop(CH_ESCAPE);
+                    // escape image is only needed by the first cinematic stage; release it from the cache
+                    imageCache.evict(escImg);
+                }));
+    }
+
+    /** buildEscapeFinal() - final escape text with Restart / Escape buttons */
+    private BorderPane buildEscapeFinal() {
+        BorderPane overlay2 = new BorderPane();
+
+        Label t2 = new Label(
+            "You step out onto cold, wet grass. The mansion shrinks behind you.\n\n\t\t\t\t\t--- Ending: Escape ---"
+        );
+        t2.setWrapText(true);
+        t2.setTextFill(Color.CORAL);
+        t2.setFont(Font.font(16));
+
+        // Buttons for restart or exit (cosmetic + functional)
+        Button restartBtn = UiKit.endingButton(" Restart ", false);
+        restartBtn.setOnAction(e -> showTitleScreen());
+
+        Button exitBtn = UiKit.endingButton("      Escape      ", false);
+        exitBtn.setOnAction(e -> Platform.exit());
+
+        VBox vbox = new VBox(20, t2, restartBtn, exitBtn);
+        vbox.setAlignment(Pos.CENTER);
+        overlay2.setCenter(vbox);
+        return overlay2;
     }
 
     // ------------------------
@@ -1462,12 +1593,8 @@ public class CorridorAdventure extends Application {
      *  - leaves sound state alone (caller decides which sounds to start/stop)
      */
     private void resetGameState() {
-        pendantNumber = 3;
-        pendantTaken = false;
-        ended = false;
-        letters.clear();
-        solved.clear();
-        if (logArea != null) logArea.clear();
+        engine.reset();
+        journal.add(EventJournal.Type.GAME, "new game");
         updateInventoryUI();
     }
 }
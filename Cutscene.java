@@ -0,0 +1,268 @@
+/*
+    Cutscene.java
+    -------------
+    Declarative cutscenes: a sequence is a list of stages (image, content, audio cue, duration) played by one
+    scheduler on the GameClock, instead of PauseTransition callbacks nested inside each other.
+
+        Cutscene.named("escape")
+                .screen("escape_image", "escape.jpg", this::buildEscapeText, PAUSE_LONG).audio(CH_ESCAPE)
+                .screen("final", "mansion_out.jpg", this::buildEscapeFinal, 0).then(() -> audio.stop(CH_ESCAPE))
+                .build(director, clock)
+                .play();
+
+    Stage kinds:
+        screen(...)   : background image + overlay built by the content supplier
+        blackout(...) : plain black
+        hold(...)     : leaves the current screen as it is (e.g. time to read a message)
+
+    NOTES:
+      - While stage N plays, the images / audio of the next PREPARE_AHEAD stages are requested (Director.prepare)
+        and the overlay of stage N+1 is built, so switching stages only swaps finished nodes.
+      - If stage N+1's image is still decoding when stage N's time is up, stage N is held a little longer
+        (up to MAX_EXTRA_WAIT) rather than showing a half-loaded screen; such stages are marked as waited
+        on their corridor.CinematicStage event.
+        With an INSTANT clock stages never wait for assets.
+      - skip() moves to the next stage at once; cancel() stops the sequence without running onFinished.
+      - A stage with 0 seconds ends the sequence when it is last (final screens with buttons).
+      - Every stage is reported as a corridor.CinematicStage JFR event (see GameEvents).
+      - FX thread only.
+*/
+
+import javafx.scene.Parent;               // stage overlays
+
+import java.util.*;
+import java.util.function.Supplier;       // overlay builders
+
+
+final class Cutscene {
+
+    private static final int PREPARE_AHEAD = 2;                  // stages whose assets are requested early
+    private static final double READY_POLL = 0.05;               // seconds (game time) between readiness checks
+    private static final long MAX_EXTRA_WAIT_NANOS = 1_500_000_000L; // never hold a stage longer than this
+
+    /** how stages reach the screen and the audio engine (implemented by the game) */
+    interface Director {
+        /** puts a screen / blackout stage on screen; content is null for a blackout */
+        void show(Cutscene cutscene, Step step, Parent content);
+
+        /** fires the stage's audio cue */
+        void cue(String channel);
+
+        /** starts decoding the stage's image and pre-rolls its audio */
+        void prepare(Step step);
+
+        /** true once the stage's image is decoded (or it has none / failed) */
+        boolean ready(Step step);
+    }
+
+    enum Kind { SCREEN, BLACKOUT, HOLD }
+
+    /** One stage of a sequence. */
+    static final class Step {
+        final String name;
+        final Kind kind;
+        final String image;                              // may be null
+        final double seconds;
+        private final Supplier<? extends Parent> content; // SCREEN only
+        private String audio;                            // channel cued when the stage starts, may be null
+        private final List<Runnable> actions = new ArrayList<>();
+        private Parent built;                            // content built ahead of time
+
+        private Step(String name, Kind kind, String image, Supplier<? extends Parent> content, double seconds) {
+            this.name = name;
+            this.kind = kind;
+            this.image = image;
+            this.content = content;
+            this.seconds = seconds;
+        }
+
+        String audio() {
+            return audio;
+        }
+
+        private Parent content() {
+            if (built == null && content != null) built = content.get();
+            return built;
+        }
+    }
+
+    // ------------------------
+    // Builder
+    // ------------------------
+
+    static Builder named(String sequence) {
+        return new Builder(sequence);
+    }
+
+    static final class Builder {
+        private final String sequence;
+        private final List<Step> steps = new ArrayList<>();
+        private Runnable onFinished;
+
+        private Builder(String sequence) {
+            this.sequence = sequence;
+        }
+
+        Builder screen(String name, String image, Supplier<? extends Parent> content, double seconds) {
+            steps.add(new Step(name, Kind.SCREEN, image, content, seconds));
+            return this;
+        }
+
+        Builder blackout(String name, double seconds) {
+            steps.add(new Step(name, Kind.BLACKOUT, null, null, seconds));
+            return this;
+        }
+
+        Builder hold(String name, double seconds) {
+            steps.add(new Step(name, Kind.HOLD, null, null, seconds));
+            return this;
+        }
+
+        /** audio(channel) - cue for the stage added last */
+        Builder audio(String channel) {
+            last().audio = channel;
+            return this;
+        }
+
+        /** then(action) - extra action when the stage added last starts (stop a sound, evict an image...) */
+        Builder then(Runnable action) {
+            last().actions.add(action);
+            return this;
+        }
+
+        /** onFinished(after) - runs once the last stage's time is up (not on cancel) */
+        Builder onFinished(Runnable after) {
+            this.onFinished = after;
+            return this;
+        }
+
+        Cutscene build(Director director, GameClock clock) {
+            if (steps.isEmpty()) throw new IllegalStateException("cutscene '" + sequence + "' has no stages");
+            return new Cutscene(sequence, List.copyOf(steps), onFinished, director, clock);
+        }
+
+        private Step last() {
+            if (steps.isEmpty()) throw new IllegalStateException("add a stage first");
+            return steps.get(steps.size() - 1);
+        }
+    }
+
+    // ------------------------
+    // Playback state
+    // ------------------------
+    private final String sequence;
+    private final List<Step> steps;
+    private final Runnable onFinished;
+    private final Director director;
+    private final GameClock clock;
+    private GameClock.Delay timer;                       // the running stage delay, null if none
+
+    private int index = -1;
+    private boolean running;
+    private long overdueSince;                           // nanoTime the current stage's time ran out, 0 = not
+    private GameEvents.CinematicStage event;
+
+    private Cutscene(String sequence, List<Step> steps, Runnable onFinished, Director director, GameClock clock) {
+        this.sequence = sequence;
+        this.steps = steps;
+        this.onFinished = onFinished;
+        this.director = director;
+        this.clock = clock;
+    }
+
+    String sequence() {
+        return sequence;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    // ------------------------
+    // Control
+    // ------------------------
+
+    /** play() - shows the first stage (its assets are requested right before) */
+    void play() {
+        if (running) return;
+        running = true;
+        prepare(0);
+        enter(0);
+    }
+
+    /** skip() - ends the current stage now, without waiting for the next stage's assets */
+    void skip() {
+        if (!running) return;
+        stopTimer();
+        next();
+    }
+
+    /** cancel() - stops the sequence where it is; onFinished is not run */
+    void cancel() {
+        if (!running) return;
+        stopTimer();
+        finish(false);
+    }
+
+    // ------------------------
+    // Scheduling
+    // ------------------------
+
+    private void enter(int i) {
+        index = i;
+        overdueSince = 0;
+        Step step = steps.get(i);
+
+        if (step.kind != Kind.HOLD) director.show(this, step, step.kind == Kind.SCREEN ? step.content() : null);
+        if (step.audio != null) director.cue(step.audio);
+        for (Runnable action : step.actions) action.run();
+        event = GameEvents.cinematicStage(event, sequence, step.name);
+
+        for (int k = 1; k <= PREPARE_AHEAD; k++) prepare(i + k);
+        if (i + 1 < steps.size()) steps.get(i + 1).content();   // build the next overlay while this one plays
+
+        if (step.seconds <= 0 && i == steps.size() - 1) {
+            finish(true);                                 // final screen stays; the sequence is over
+            return;
+        }
+        timer = clock.after(step.seconds, this::timeUp);
+    }
+
+    /** the current stage's time is up: move on once the next stage's image is ready (bounded wait) */
+    private void timeUp() {
+        timer = null;
+        if (!running) return;
+        if (!clock.isInstant() && index + 1 < steps.size() && !director.ready(steps.get(index + 1))) {
+            long now = System.nanoTime();
+            if (overdueSince == 0) {
+                overdueSince = now;
+                GameEvents.cinematicStageWaited(event);
+            }
+            if (now - overdueSince < MAX_EXTRA_WAIT_NANOS) {
+                timer = clock.after(READY_POLL, this::timeUp);
+                return;
+            }
+        }
+        next();
+    }
+
+    private void next() {
+        if (index + 1 < steps.size()) enter(index + 1);
+        else finish(true);
+    }
+
+    private void stopTimer() {
+        if (timer != null) timer.cancel();
+        timer = null;
+    }
+
+    private void prepare(int i) {
+        if (i < steps.size()) director.prepare(steps.get(i));
+    }
+
+    private void finish(boolean completed) {
+        running = false;
+        event = GameEvents.cinematicStage(event, sequence, null);
+        if (completed && onFinished != null) onFinished.run();
+    }
+}
@@ -0,0 +1,277 @@
+/*
+    EventJournal.java
+    -----------------
+    Fixed-capacity ring buffer of structured game events (timestamp, scene, event type, text id), replacing the
+    hidden TextArea log that grew without bound.
+
+    Layout:
+        long[]  time     : epoch millis
+        short[] scene    : index into the interned scene names
+        byte[]  type     : Type ordinal
+        int[]   text     : index into the interned texts (-1 = text kept in the overflow slot)
+
+    Configuration:
+        -Dcorridor.journalSize=<entries>      ring capacity (default 4096)
+        -Dcorridor.journalFile=<file>         spill every entry to a rolling text file (off by default)
+        -Dcorridor.journalFileMB=<MB>         size at which the file rolls over to <file>.1 (default 8)
+
+    NOTES:
+      - Memory is flat: adding an entry writes four array slots; narrative lines are interned once (the game
+        only has a few hundred distinct ones). Texts beyond MAX_INTERNED distinct strings are kept per slot
+        and released when the slot is overwritten.
+      - Entries are addressed by sequence number (0 = first entry ever); only the last 'capacity' stay in memory.
+      - Spilling formats entries in batches of SPILL_BATCH on the calling thread and writes them on a daemon
+        thread, so the FX thread never blocks on the disk. A ring smaller than SPILL_BATCH spills once it is
+        full, so no entry is overwritten before it is written.
+      - No JavaFX here; everything is meant to be called from one thread (the FX thread in the game).
+*/
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;                   // spill file
+import java.util.*;
+import java.util.concurrent.*;            // spill writer thread
+
+
+final class EventJournal {
+
+    enum Type { GAME, SCENE, NARRATIVE, PUZZLE, SYSTEM }
+
+    private static final int DEFAULT_CAPACITY = 4096;
+    private static final int MAX_INTERNED = 4096;        // distinct texts kept in the intern table
+    private static final int MAX_SCENES = Short.MAX_VALUE;
+    private static final int SPILL_BATCH = 256;
+    private static final Type[] TYPES = Type.values();
+    private static final TimeZone ZONE = TimeZone.getDefault();
+
+    // ------------------------
+    // Ring
+    // ------------------------
+    private final int capacity;
+    private final long[] time;
+    private final short[] scene;
+    private final byte[] type;
+    private final int[] text;
+    private final String[] overflow;                     // text of slots whose id is -1, else null
+    private long total = 0;                              // entries ever added (next sequence number)
+
+    // ------------------------
+    // Interning
+    // ------------------------
+    private final Map<String, Integer> textIds = new HashMap<>();
+    private final List<String> texts = new ArrayList<>();
+    private final Map<String, Integer> sceneIds = new HashMap<>();
+    private final List<String> scenes = new ArrayList<>();
+    private short currentScene;
+
+    // ------------------------
+    // Spill
+    // ------------------------
+    private final Path spillFile;                        // null = no spill
+    private final long spillMaxBytes;
+    private final ExecutorService spillWriter;
+    private final int spillBatch;                        // min(SPILL_BATCH, capacity)
+    private long spilled = 0;                            // entries handed to the writer so far
+
+    private Runnable listener;                           // called after every add (journal viewer)
+
+    EventJournal(int capacity, Path spillFile, long spillMaxBytes) {
+        this.capacity = Math.max(1, capacity);
+        this.spillBatch = Math.min(SPILL_BATCH, this.capacity);
+        this.time = new long[this.capacity];
+        this.scene = new short[this.capacity];
+        this.type = new byte[this.capacity];
+        this.text = new int[this.capacity];
+        this.overflow = new String[this.capacity];
+        this.spillFile = spillFile;
+        this.spillMaxBytes = spillMaxBytes;
+        this.spillWriter = spillFile == null ? null : Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "journal-spill");
+            t.setDaemon(true);
+            return t;
+        });
+        currentScene = sceneId("-");
+    }
+
+    /**
+     * fromProperties()
+     *  - journal configured by -Dcorridor.journalSize / journalFile / journalFileMB
+     */
+    static EventJournal fromProperties() {
+        int size = (int) longProperty("corridor.journalSize", DEFAULT_CAPACITY);
+        long mb = longProperty("corridor.journalFileMB", 8);
+        String file = System.getProperty("corridor.journalFile");
+        return new EventJournal(size, file == null || file.isBlank() ? null : Paths.get(file), mb << 20);
+    }
+
+    private static long longProperty(String name, long def) {
+        String prop = System.getProperty(name);
+        if (prop == null) return def;
+        try {
+            long v = Long.parseLong(prop.trim());
+            return v > 0 ? v : def;
+        } catch (NumberFormatException ex) {
+            System.err.println("Ignoring invalid " + name + " value: " + prop);
+            return def;
+        }
+    }
+
+    // ------------------------
+    // Recording
+    // ------------------------
+
+    /** enter(sceneName) - later entries belong to sceneName; records a SCENE entry */
+    void enter(String sceneName) {
+        currentScene = sceneId(sceneName);
+        add(Type.SCENE, sceneName);
+    }
+
+    /** add(type, text) - appends one entry, overwriting the oldest once the ring is full */
+    void add(Type t, String line) {
+        int slot = (int) (total % capacity);
+        time[slot] = System.currentTimeMillis();
+        scene[slot] = currentScene;
+        type[slot] = (byte) t.ordinal();
+        int id = textId(line);
+        text[slot] = id;
+        overflow[slot] = id < 0 ? line : null;
+        total++;
+
+        if (spillWriter != null && total - spilled >= spillBatch) spill();
+        if (listener != null) listener.run();
+    }
+
+    void setListener(Runnable listener) {
+        this.listener = listener;
+    }
+
+    private int textId(String line) {
+        if (line == null) line = "";
+        Integer id = textIds.get(line);
+        if (id != null) return id;
+        if (texts.size() >= MAX_INTERNED) return -1;
+        texts.add(line);
+        textIds.put(line, texts.size() - 1);
+        return texts.size() - 1;
+    }
+
+    private short sceneId(String name) {
+        Integer id = sceneIds.get(name);
+        if (id != null) return id.shortValue();
+        if (scenes.size() >= MAX_SCENES) return 0;
+        scenes.add(name);
+        sceneIds.put(name, scenes.size() - 1);
+        return (short) (scenes.size() - 1);
+    }
+
+    // ------------------------
+    // Reading (by sequence number)
+    // ------------------------
+
+    /** total() - entries ever added; the next entry gets this sequence number */
+    long total() {
+        return total;
+    }
+
+    /** oldest() - sequence number of the oldest entry still in memory */
+    long oldest() {
+        return Math.max(0, total - capacity);
+    }
+
+    int size() {
+        return (int) Math.min(total, capacity);
+    }
+
+    boolean retained(long seq) {
+        return seq >= oldest() && seq < total;
+    }
+
+    long time(long seq) { return time[slot(seq)]; }
+    String scene(long seq) { return scenes.get(scene[slot(seq)]); }
+    Type type(long seq) { return TYPES[type[slot(seq)]]; }
+
+    String text(long seq) {
+        int s = slot(seq);
+        return text[s] >= 0 ? texts.get(text[s]) : overflow[s];
+    }
+
+    /** format(seq) - one display / spill line: time, scene, type, text (null when no longer retained) */
+    String format(long seq) {
+        if (!retained(seq)) return null;
+        StringBuilder sb = new StringBuilder(96);
+        appendEntry(sb, seq);
+        return sb.toString();
+    }
+
+    private void appendEntry(StringBuilder sb, long seq) {
+        long t = time(seq);
+        long secs = Math.floorMod((t + ZONE.getOffset(t)) / 1000, 86_400L);   // local HH:mm:ss, no formatter
+        two(sb, secs / 3600).append(':');
+        two(sb, secs / 60 % 60).append(':');
+        two(sb, secs % 60).append('\t')
+          .append(scene(seq)).append('\t').append(type(seq)).append('\t')
+          .append(text(seq).replace('\n', ' '));
+    }
+
+    private static StringBuilder two(StringBuilder sb, long v) {
+        return sb.append((char) ('0' + v / 10)).append((char) ('0' + v % 10));
+    }
+
+    private int slot(long seq) {
+        if (!retained(seq)) throw new IndexOutOfBoundsException("entry " + seq + " not retained");
+        return (int) (seq % capacity);
+    }
+
+    // ------------------------
+    // Spill
+    // ------------------------
+
+    /** hands every entry not yet written to the spill thread (at most 'capacity' of them, see spillBatch) */
+    private void spill() {
+        long from = Math.max(spilled, oldest());
+        if (from >= total) return;
+        StringBuilder sb = new StringBuilder((int) (total - from) * 96);
+        for (long seq = from; seq < total; seq++) {
+            appendEntry(sb, seq);
+            sb.append(System.lineSeparator());
+        }
+        spilled = total;
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            spillWriter.execute(() -> write(bytes));
+        } catch (RejectedExecutionException ex) {
+            // closed
+        }
+    }
+
+    /** spill thread: appends to the file, rolling it over to <file>.1 once it exceeds spillMaxBytes */
+    private void write(byte[] bytes) {
+        try {
+            if (Files.exists(spillFile) && Files.size(spillFile) + bytes.length > spillMaxBytes) {
+                Files.move(spillFile, spillFile.resolveSibling(spillFile.getFileName() + ".1"),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.write(spillFile, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            System.err.println("Journal spill to " + spillFile + " failed : " + ex.getMessage());
+        }
+    }
+
+    /** close() - writes the remaining entries and waits briefly for the spill thread */
+    void close() {
+        if (spillWriter == null) return;
+        spill();
+        spillWriter.shutdown();
+        try {
+            spillWriter.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    String stats() {
+        return "EventJournal[entries=" + total + ", retained=" + size() + "/" + capacity
+                + ", texts=" + texts.size() + ", scenes=" + scenes.size()
+                + (spillFile != null ? ", spill=" + spillFile : "") + "]";
+    }
+}
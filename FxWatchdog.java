@@ -0,0 +1,219 @@
+/*
+    FxWatchdog.java
+    ---------------
+    Detects stalls of the JavaFX Application Thread and writes a stall report to a local log file.
+
+    How it works:
+      - A daemon timer thread posts a tiny "ping" with Platform.runLater every interval; the FX thread answers
+        it as soon as it gets to it.
+      - A ping unanswered for longer than the threshold is a stall: the FX thread's stack trace and the
+        current scene name are captured and the report is written right then (while it is still stuck), so
+        a freeze that never ends is on disk too - at most one report per REPORT_GAP, later ones are counted
+        as suppressed.
+      - When the FX thread answers again the stall is over and a line with its total duration is appended
+        after the report.
+
+    Configuration:
+        -Dcorridor.stallMs=<ms>        stall threshold (default 250); pings are sent every threshold/4
+        -Dcorridor.stallLog=<file>     report file (default corridor-stalls.log in the working directory)
+
+    NOTES:
+      - Stall counts per scene are kept for the perf HUD / exit report (safe to read from any thread).
+      - A nested event loop (e.g. showAndWait of a dialog) keeps answering pings, so it is not a stall.
+*/
+
+import javafx.application.Platform;       // ping delivery
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;                   // report file
+import java.time.LocalDateTime;           // report timestamp
+import java.util.*;
+import java.util.concurrent.*;            // timer thread, per-scene counters
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;       // current scene name
+
+
+final class FxWatchdog {
+
+    private static final long DEFAULT_THRESHOLD_MS = 250;
+    private static final long REPORT_GAP_NANOS = TimeUnit.SECONDS.toNanos(10); // min time between written reports
+    private static final int MAX_STACK_FRAMES = 40;
+
+    private final long thresholdNanos;
+    private final long intervalMillis;
+    private final Path logFile;
+    private final Supplier<String> sceneName;            // must be safe to call off the FX thread
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "fx-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // ------------------------
+    // Ping state (written by both threads)
+    // ------------------------
+    private volatile Thread fxThread;                    // learned from the first answered ping
+    private volatile long pendingSince = 0;              // nanoTime the outstanding ping was posted, 0 = none
+    private volatile long lastPong = 0;                  // nanoTime of the last answered ping
+
+    // ------------------------
+    // Stall state (timer thread only)
+    // ------------------------
+    private boolean inStall = false;
+    private long stallStart;
+    private String stallScene;
+    private StackTraceElement[] stallStack;
+    private String stallTime;                            // wall-clock time of detection (report header)
+    private boolean stallReported;                       // the current stall's report was written
+    private long lastReport = 0;
+    private int suppressed = 0;
+
+    // ------------------------
+    // Counters (any thread)
+    // ------------------------
+    private final ConcurrentHashMap<String, AtomicLong> stallsPerScene = new ConcurrentHashMap<>();
+    private final AtomicLong totalStalls = new AtomicLong();
+    private volatile long worstStallNanos = 0;
+
+    FxWatchdog(long thresholdMillis, Path logFile, Supplier<String> sceneName) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, thresholdMillis));
+        this.intervalMillis = Math.max(1, thresholdMillis / 4);
+        this.logFile = logFile;
+        this.sceneName = sceneName;
+    }
+
+    /**
+     * fromProperties(sceneName)
+     *  - watchdog configured by -Dcorridor.stallMs / -Dcorridor.stallLog
+     */
+    static FxWatchdog fromProperties(Supplier<String> sceneName) {
+        long ms = DEFAULT_THRESHOLD_MS;
+        String prop = System.getProperty("corridor.stallMs");
+        if (prop != null) {
+            try {
+                ms = Long.parseLong(prop.trim());
+            } catch (NumberFormatException ex) {
+                System.err.println("Ignoring invalid corridor.stallMs value: " + prop);
+            }
+        }
+        Path log = Paths.get(System.getProperty("corridor.stallLog", "corridor-stalls.log"));
+        return new FxWatchdog(ms, log, sceneName);
+    }
+
+    // ------------------------
+    // Lifecycle
+    // ------------------------
+
+    void start() {
+        if (Platform.isFxApplicationThread()) fxThread = Thread.currentThread(); // stack available for the first stall
+        timer.scheduleAtFixedRate(this::tick, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void stop() {
+        timer.shutdownNow();
+    }
+
+    // ------------------------
+    // Ping / stall detection
+    // ------------------------
+
+    /** runs on the FX thread: answers the outstanding ping */
+    private void pong() {
+        if (fxThread == null) fxThread = Thread.currentThread();
+        lastPong = System.nanoTime();
+        pendingSince = 0;
+    }
+
+    /** runs on the watchdog thread every interval */
+    private void tick() {
+        try {
+            long now = System.nanoTime();
+            long since = pendingSince;
+
+            if (since == 0) {
+                if (inStall) endStall(lastPong);
+                pendingSince = now;
+                Platform.runLater(this::pong);
+                return;
+            }
+            if (!inStall && now - since >= thresholdNanos) beginStall(since);
+        } catch (RuntimeException ex) {
+            // never let an exception cancel the scheduled task
+            System.err.println("Watchdog error : " + ex.getMessage());
+        }
+    }
+
+    private void beginStall(long since) {
+        inStall = true;
+        stallStart = since;
+        stallScene = sceneName.get();
+        Thread fx = fxThread;
+        stallStack = fx != null ? fx.getStackTrace() : new StackTraceElement[0];
+
+        totalStalls.incrementAndGet();
+        stallsPerScene.computeIfAbsent(stallScene == null ? "-" : stallScene, k -> new AtomicLong()).incrementAndGet();
+
+        long now = System.nanoTime();
+        stallReported = lastReport == 0 || now - lastReport >= REPORT_GAP_NANOS;
+        if (!stallReported) {
+            suppressed++;
+            return;
+        }
+        lastReport = now;
+        stallTime = LocalDateTime.now().toString();
+        writeReport(now - since);
+    }
+
+    private void endStall(long answered) {
+        inStall = false;
+        long duration = answered - stallStart;
+        if (duration > worstStallNanos) worstStallNanos = duration;
+        if (stallReported) {
+            append("    stall of " + stallTime + " in scene '" + stallScene + "' ended after "
+                    + duration / 1_000_000 + " ms" + System.lineSeparator());
+        }
+    }
+
+    /** writes the report of the stall in progress (detected after durationNanos; the FX thread is still stuck) */
+    private void writeReport(long durationNanos) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== FX thread stall ").append(stallTime)
+          .append(" : stuck for ").append(durationNanos / 1_000_000).append(" ms so far in scene '").append(stallScene).append("'");
+        if (suppressed > 0) sb.append(" (").append(suppressed).append(" earlier stalls not reported)");
+        sb.append(System.lineSeparator());
+        int frames = Math.min(stallStack.length, MAX_STACK_FRAMES);
+        for (int i = 0; i < frames; i++) sb.append("    at ").append(stallStack[i]).append(System.lineSeparator());
+        if (stallStack.length > frames) sb.append("    ... ").append(stallStack.length - frames).append(" more").append(System.lineSeparator());
+        suppressed = 0;
+        append(sb.toString());
+    }
+
+    private void append(String text) {
+        try {
+            Files.write(logFile, text.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            System.err.println("Failed to write stall report to " + logFile + " : " + ex.getMessage());
+        }
+    }
+
+    // ------------------------
+    // Stats
+    // ------------------------
+
+    long totalStalls() { return totalStalls.get(); }
+
+    /** stallsPerScene() - snapshot of scene name -> number of stalls */
+    Map<String, Long> stallsPerScene() {
+        Map<String, Long> out = new TreeMap<>();
+        stallsPerScene.forEach((k, v) -> out.put(k, v.get()));
+        return out;
+    }
+
+    String stats() {
+        return "FxWatchdog[stalls=" + totalStalls.get() + ", worst=" + (worstStallNanos / 1_000_000) + "ms"
+                + ", threshold=" + (thresholdNanos / 1_000_000) + "ms, perScene=" + stallsPerScene() + "]";
+    }
+}
@@ -0,0 +1,124 @@
+/*
+    GameClock.java
+    --------------
+    Every game delay (door attempt, puzzle fail, cutscene stages) is scheduled through this clock instead of a
+    PauseTransition of its own, so the pace of the whole game can be changed in one place.
+
+    Modes:
+        REAL     : delays take the written number of seconds
+        SCALED   : N x faster (turbo); a 3 s stage takes 3/N s
+        INSTANT  : delays complete on the next event-loop turn; virtual time still advances by their length
+
+    Configuration:
+        -Dcorridor.clock=real | instant | <N>x     (e.g. 8x; a bare number works too)
+
+    NOTES:
+      - now() is virtual game time in seconds: scaled wall time, or the sum of the delays passed in INSTANT mode.
+      - Timed modes use a PauseTransition and must be used on the FX thread. INSTANT mode only needs the
+        executor it posts to (Platform.runLater by default; any queue works for headless runs).
+      - Instant delays still run asynchronously and in order, so a long sequence never recurses.
+      - UI timers that are not game time (e.g. the resize debounce) keep their own PauseTransition.
+*/
+
+import javafx.animation.PauseTransition;  // timed modes
+import javafx.application.Platform;       // INSTANT default executor
+import javafx.util.Duration;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;     // where INSTANT delays are posted
+
+
+final class GameClock {
+
+    enum Mode { REAL, SCALED, INSTANT }
+
+    /** a scheduled delay; cancel() before it fires drops the action */
+    interface Delay {
+        void cancel();
+    }
+
+    private final Mode mode;
+    private final double scale;                          // REAL = 1, SCALED = N, INSTANT = unused
+    private final Executor post;                         // INSTANT only
+    private final long origin = System.nanoTime();
+    private double instantNow = 0;                       // INSTANT virtual time (seconds)
+
+    GameClock(Mode mode, double scale, Executor post) {
+        this.mode = mode;
+        this.scale = mode == Mode.REAL ? 1.0 : scale;
+        this.post = post;
+    }
+
+    static GameClock real() {
+        return new GameClock(Mode.REAL, 1.0, Platform::runLater);
+    }
+
+    static GameClock scaled(double factor) {
+        if (!(factor > 0)) throw new IllegalArgumentException("time scale must be > 0: " + factor);
+        return new GameClock(Mode.SCALED, factor, Platform::runLater);
+    }
+
+    static GameClock instant(Executor post) {
+        return new GameClock(Mode.INSTANT, 0, post);
+    }
+
+    /**
+     * fromProperties()
+     *  - clock selected by -Dcorridor.clock (real when unset or invalid)
+     */
+    static GameClock fromProperties() {
+        String prop = System.getProperty("corridor.clock");
+        if (prop == null || prop.isBlank() || prop.trim().equalsIgnoreCase("real")) return real();
+        String v = prop.trim().toLowerCase(Locale.ROOT);
+        if (v.equals("instant")) return instant(Platform::runLater);
+        try {
+            double n = Double.parseDouble(v.endsWith("x") ? v.substring(0, v.length() - 1) : v);
+            return n == 1.0 ? real() : scaled(n);
+        } catch (IllegalArgumentException ex) {             // also NumberFormatException
+            System.err.println("Ignoring invalid corridor.clock value: " + prop);
+            return real();
+        }
+    }
+
+    Mode mode() {
+        return mode;
+    }
+
+    boolean isInstant() {
+        return mode == Mode.INSTANT;
+    }
+
+    /** now() - virtual game time in seconds since the clock was created */
+    double now() {
+        if (mode == Mode.INSTANT) return instantNow;
+        return (System.nanoTime() - origin) * scale / 1e9;
+    }
+
+    /**
+     * after(seconds, action)
+     *  - runs action once 'seconds' of game time have passed (FX thread for timed modes)
+     *  - returns a handle that cancels the delay
+     */
+    Delay after(double seconds, Runnable action) {
+        double length = Math.max(0, seconds);
+        if (mode == Mode.INSTANT) {
+            double due = instantNow + length;
+            boolean[] cancelled = { false };
+            post.execute(() -> {
+                if (cancelled[0]) return;
+                if (due > instantNow) instantNow = due;
+                action.run();
+            });
+            return () -> cancelled[0] = true;
+        }
+        PauseTransition p = new PauseTransition(Duration.seconds(length / scale));
+        p.setOnFinished(e -> action.run());
+        p.play();
+        return p::stop;
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.SCALED ? "GameClock[" + scale + "x]" : "GameClock[" + mode + "]";
+    }
+}
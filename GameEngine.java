@@ -0,0 +1,246 @@
+/*
+    GameEngine.java
+    ---------------
+    Headless Corridor Adventure rules: state + actions + transition function + emitted events.
+
+    NOTES:
+      - No JavaFX types: runs on a display-less box (simulators, load tests, server hosting).
+      - CorridorAdventure drives it: every button that changes game state calls one action here and
+        renders the returned Event; scene building, audio and timing stay in the UI.
+      - Each action returns the event that decides what the UI shows next and also reports every event
+        (in order) to the optional Listener, without allocating.
+      - State is one packed long (see GameState); load(bits) + step(action) + state().bits() let
+        simulators drive any number of states through one engine without allocation.
+      - Rules preserved from the original UI code:
+          * puzzle failure: pendant -1 (clamped at 0), death at 0
+          * failed south door: stanza uses the value before the decrement, pendant -1 (not clamped), death at <= 0
+          * south door with O, C and K collected: escape
+*/
+
+final class GameEngine {
+
+    // ------------------------
+    // Vocabulary
+    // ------------------------
+
+    /** Where the player currently is (scene-level granularity). */
+    enum Location { TITLE, MANSION_OUT, MANSION_IN, HALLWAY, ROOM_1, STORAGE, STUDY, SOUTH_DOOR, DEAD, ESCAPED }
+
+    /** The three puzzle rooms, their letter and accepted answer. */
+    enum Room {
+        ROOM_1("Room 1", 'O', Location.ROOM_1),
+        STORAGE("Storage", 'C', Location.STORAGE),
+        STUDY("Study", 'K', Location.STUDY);
+
+        final String displayName;                        // name used by the UI ("Room 1")
+        final char letter;                               // letter rewarded (and expected as the answer)
+        final Location location;
+
+        static final Room[] VALUES = values();           // cached (values() clones the array)
+
+        Room(String displayName, char letter, Location location) {
+            this.displayName = displayName;
+            this.letter = letter;
+            this.location = location;
+        }
+
+        /** byName(displayName) - room for a UI name, or null for anything else */
+        static Room byName(String displayName) {
+            for (Room r : VALUES) if (r.displayName.equals(displayName)) return r;
+            return null;
+        }
+    }
+
+    /** Actions the player can take (used by the generic step() transition). */
+    enum Action { START, APPROACH, TAKE_PENDANT, GO_HALLWAY, ENTER_ROOM_1, ENTER_STORAGE, ENTER_STUDY, ANSWER_RIGHT, ANSWER_WRONG, TRY_SOUTH_DOOR }
+
+    /** Events emitted by actions. */
+    enum Event {
+        NONE,                                            // action had no effect (e.g. game already ended)
+        PENDANT_TAKEN,
+        MOVED,
+        ALREADY_SOLVED,
+        LETTER_FOUND,                                    // value = letter
+        WRONG_ANSWER,
+        DOOR_RESISTED,                                   // value = pendant number before the decrement (lock stanza)
+        LIFE_LOST,                                       // value = pendant number after the decrement
+        DIED,
+        ESCAPED
+    }
+
+    /** Receives every emitted event; value meaning depends on the event (see Event). */
+    interface Listener {
+        void onEvent(Event event, Room room, int value);
+    }
+
+    // ------------------------
+    // State
+    // ------------------------
+    private final GameState state = new GameState();
+    private Listener listener;
+
+    GameState state() { return state; }
+
+    void setListener(Listener listener) { this.listener = listener; }
+
+    private void emit(Event e, Room room, int value) {
+        if (listener != null) listener.onEvent(e, room, value);
+    }
+
+    // ------------------------
+    // Actions
+    // ------------------------
+
+    /**
+     * reset()
+     *  - starts a new run (Start / Retry / Restart)
+     */
+    void reset() {
+        state.reset();
+    }
+
+    /** load(bits) - continues from a packed state snapshot (see GameState.bits()) */
+    void load(long bits) {
+        state.bits = bits;
+    }
+
+    /**
+     * moveTo(location)
+     *  - records where the player is; navigation itself is decided by the UI / player model
+     */
+    Event moveTo(Location location) {
+        state.bits = GameState.withLocation(state.bits, location);
+        emit(Event.MOVED, null, location.ordinal());
+        return Event.MOVED;
+    }
+
+    /**
+     * takePendant()
+     *  - picks up the pendant once; the UI then blacks out and wakes the player in the hallway
+     */
+    Event takePendant() {
+        long s = state.bits;
+        if (GameState.pendantTaken(s)) return Event.NONE;
+        state.bits = GameState.withPendantTaken(s);
+        emit(Event.PENDANT_TAKEN, null, GameState.pendant(s));
+        return Event.PENDANT_TAKEN;
+    }
+
+    /**
+     * answer(room, text)
+     *  - checks a typed answer (trimmed, case-insensitive single letter); null = cancelled = wrong
+     */
+    Event answer(Room room, String text) {
+        return answer(room, isCorrect(room, text));
+    }
+
+    /** isCorrect(room, text) - the doSolve answer check, without touching state */
+    static boolean isCorrect(Room room, String text) {
+        if (text == null) return false;
+        String t = text.trim();
+        return t.length() == 1 && Character.toUpperCase(t.charAt(0)) == room.letter;
+    }
+
+    /**
+     * answer(room, correct)
+     *  - ALREADY_SOLVED if the room is done, LETTER_FOUND on a right answer
+     *  - on a wrong answer: WRONG_ANSWER, then LIFE_LOST (clamped at 0) and DIED at 0;
+     *    returns LIFE_LOST or DIED
+     */
+    Event answer(Room room, boolean correct) {
+        long s = state.bits;
+        if (GameState.ended(s)) return Event.NONE;
+        if (GameState.isSolved(s, room)) {
+            emit(Event.ALREADY_SOLVED, room, room.letter);
+            return Event.ALREADY_SOLVED;
+        }
+        if (correct) {
+            state.bits = GameState.withSolved(s, room);
+            emit(Event.LETTER_FOUND, room, room.letter);
+            return Event.LETTER_FOUND;
+        }
+
+        emit(Event.WRONG_ANSWER, room, 0);
+        int pendant = Math.max(GameState.pendant(s) - 1, 0);
+        state.bits = GameState.withPendant(s, pendant);
+        emit(Event.LIFE_LOST, room, pendant);
+        if (pendant <= 0) return die(room);
+        return Event.LIFE_LOST;
+    }
+
+    /**
+     * trySouthDoor()
+     *  - ESCAPED when O, C and K are collected
+     *  - otherwise DOOR_RESISTED (old value), LIFE_LOST (new value) and DIED at <= 0;
+     *    returns LIFE_LOST or DIED
+     */
+    Event trySouthDoor() {
+        long s = state.bits;
+        if (GameState.ended(s)) return Event.NONE;
+        int pendant = GameState.pendant(s);
+        if (GameState.hasAllLetters(s)) {
+            state.bits = GameState.withLocation(GameState.withEnded(s), Location.ESCAPED);
+            emit(Event.ESCAPED, null, pendant);
+            return Event.ESCAPED;
+        }
+
+        emit(Event.DOOR_RESISTED, null, pendant);
+        pendant--;
+        state.bits = GameState.withPendant(GameState.withLocation(s, Location.SOUTH_DOOR), pendant);
+        emit(Event.LIFE_LOST, null, pendant);
+        if (pendant <= 0) return die(null);
+        return Event.LIFE_LOST;
+    }
+
+    private Event die(Room room) {
+        state.bits = GameState.withLocation(GameState.withEnded(state.bits), Location.DEAD);
+        emit(Event.DIED, room, GameState.pendant(state.bits));
+        return Event.DIED;
+    }
+
+    // ------------------------
+    // Generic transition function
+    // ------------------------
+
+    /**
+     * step(action)
+     *  - single entry point for automated players: applies one Action and returns its Event
+     *  - ANSWER_RIGHT / ANSWER_WRONG answer the room the player is standing in (NONE elsewhere)
+     */
+    Event step(Action action) {
+        switch (action) {
+            case START:          reset(); return moveTo(Location.MANSION_OUT);
+            case APPROACH:       return moveTo(Location.MANSION_IN);
+            case TAKE_PENDANT: {
+                Event e = takePendant();
+                if (e == Event.PENDANT_TAKEN) moveTo(Location.HALLWAY);
+                return e;
+            }
+            case GO_HALLWAY:     return moveTo(Location.HALLWAY);
+            case ENTER_ROOM_1:   return moveTo(Location.ROOM_1);
+            case ENTER_STORAGE:  return moveTo(Location.STORAGE);
+            case ENTER_STUDY:    return moveTo(Location.STUDY);
+            case ANSWER_RIGHT:
+            case ANSWER_WRONG: {
+                Room room = roomAt(GameState.location(state.bits));
+                return room == null ? Event.NONE : answer(room, action == Action.ANSWER_RIGHT);
+            }
+            case TRY_SOUTH_DOOR: {
+                Event e = trySouthDoor();
+                if (e == Event.LIFE_LOST) state.bits = GameState.withLocation(state.bits, Location.HALLWAY); // UI returns to the hallway
+                return e;
+            }
+            default:             return Event.NONE;
+        }
+    }
+
+    /** roomAt(location) - puzzle room for a location, or null */
+    static Room roomAt(Location location) {
+        switch (location) {
+            case ROOM_1:  return Room.ROOM_1;
+            case STORAGE: return Room.STORAGE;
+            case STUDY:   return Room.STUDY;
+            default:      return null;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+    GameEvents.java
+    ---------------
+    Custom Java Flight Recorder events emitted by the game (category "Corridor Adventure").
+
+        corridor.SceneTransition : from/to scene, build time, setScene time, action -> first pulse
+        corridor.ImageLoad       : file, tier, decoded size, cache hit / pixel cache / decode (decode time = duration)
+        corridor.Audio           : channel, file, operation (create/clip/play/trigger/stop/dispose); create = duration
+        corridor.PuzzleAttempt   : room, correct, pendant left, engine outcome
+        corridor.CinematicStage  : cutscene stage (pendant/death/escape, see Cutscene); duration = time on screen,
+                                   waited = held past its time for the next stage's image
+        corridor.AnswerPrompt    : puzzle answer panel opened, open -> focused field latency (see AnswerPanel)
+
+    Recording:
+        >>java -XX:StartFlightRecording:filename=corridor.jfr ... CorridorAdventure
+        >>jfr print --events "corridor.*" corridor.jfr
+        switch single types off in a .jfc / on the command line, e.g. corridor.ImageLoad#enabled=false
+
+    NOTES:
+      - Every helper creates the event and returns right away when the type is not enabled in the running
+        recording (or no recording runs), so the disabled cost is an allocation the JIT removes + one check.
+      - No stack traces are captured (@StackTrace(false)); events are committed on the FX thread.
+*/
+
+import jdk.jfr.*;                         // Event, annotations
+
+
+final class GameEvents {
+
+    private GameEvents() { }
+
+    // ------------------------
+    // Event types
+    // ------------------------
+
+    @Name("corridor.SceneTransition")
+    @Label("Scene Transition")
+    @Category({ "Corridor Adventure", "UI" })
+    @StackTrace(false)
+    static final class SceneTransition extends Event {
+        @Label("From") String from;
+        @Label("To") String to;
+        @Label("Build Time") @Timespan long buildTime;            // action -> scene graph ready
+        @Label("setScene Time") @Timespan long setSceneTime;
+        @Label("Action To First Pulse") @Timespan long firstPulse;
+    }
+
+    @Name("corridor.ImageLoad")
+    @Label("Image Load")
+    @Category({ "Corridor Adventure", "Assets" })
+    @StackTrace(false)
+    static final class ImageLoad extends Event {
+        @Label("File") String file;
+        @Label("Tier") String tier;
+        @Label("Width") int width;
+        @Label("Height") int height;
+        @Label("Decoded Size") @DataAmount long decodedBytes;
+        @Label("Cache Hit") boolean cacheHit;
+        @Label("Source") String source;                          // "cache", "pixel-cache" or "decode"
+    }
+
+    @Name("corridor.Audio")
+    @Label("Audio")
+    @Category({ "Corridor Adventure", "Audio" })
+    @StackTrace(false)
+    static final class Audio extends Event {
+        @Label("Channel") String channel;
+        @Label("File") String file;
+        @Label("Operation") String operation;
+        @Label("AudioClip") boolean clip;
+    }
+
+    @Name("corridor.PuzzleAttempt")
+    @Label("Puzzle Attempt")
+    @Category({ "Corridor Adventure", "Game" })
+    @StackTrace(false)
+    static final class PuzzleAttempt extends Event {
+        @Label("Room") String room;
+        @Label("Correct") boolean correct;
+        @Label("Pendant Left") int pendant;
+        @Label("Outcome") String outcome;
+    }
+
+    @Name("corridor.CinematicStage")
+    @Label("Cinematic Stage")
+    @Category({ "Corridor Adventure", "Game" })
+    @StackTrace(false)
+    static final class CinematicStage extends Event {
+        @Label("Sequence") String sequence;
+        @Label("Stage") String stage;
+        @Label("Waited For Next Stage") boolean waited;
+    }
+
+    @Name("corridor.AnswerPrompt")
+    @Label("Answer Prompt")
+    @Category({ "Corridor Adventure", "UI" })
+    @StackTrace(false)
+    static final class AnswerPrompt extends Event {
+        @Label("Prompt") String prompt;
+        @Label("Open To Focus") @Timespan long openToFocus;
+    }
+
+    // ------------------------
+    // Emit helpers
+    // ------------------------
+
+    static void sceneTransition(String from, String to, long buildNanos, long setSceneNanos, long firstPulseNanos) {
+        SceneTransition e = new SceneTransition();
+        if (!e.isEnabled()) return;
+        e.from = from;
+        e.to = to;
+        e.buildTime = buildNanos;
+        e.setSceneTime = setSceneNanos;
+        e.firstPulse = firstPulseNanos;
+        e.commit();
+    }
+
+    /** imageLoaded(file, tier, w, h, bytes, source) - instant event for a hit or a ready pixel-cache load */
+    static void imageLoaded(String file, String tier, int w, int h, long bytes, String source) {
+        ImageLoad e = new ImageLoad();
+        if (!e.isEnabled()) return;
+        fill(e, file, tier, w, h, bytes, source);
+        e.commit();
+    }
+
+    /**
+     * imageDecodeBegin(file, tier)
+     *  - starts timing a background decode; returns null when the event type is disabled
+     *  - finish with imageDecodeEnd once the image has loaded
+     */
+    static ImageLoad imageDecodeBegin(String file, String tier) {
+        ImageLoad e = new ImageLoad();
+        if (!e.isEnabled()) return null;
+        e.file = file;
+        e.tier = tier;
+        e.begin();
+        return e;
+    }
+
+    static void imageDecodeEnd(ImageLoad e, int w, int h, long bytes) {
+        if (e == null) return;
+        e.end();
+        fill(e, e.file, e.tier, w, h, bytes, "decode");
+        e.commit();
+    }
+
+    private static void fill(ImageLoad e, String file, String tier, int w, int h, long bytes, String source) {
+        e.file = file;
+        e.tier = tier;
+        e.width = w;
+        e.height = h;
+        e.decodedBytes = bytes;
+        e.source = source;
+        e.cacheHit = "cache".equals(source);
+    }
+
+    /** audio(channel, file, operation, clip) - instant audio operation (play/trigger/stop/dispose/clip) */
+    static void audio(String channel, String file, String operation, boolean clip) {
+        Audio e = new Audio();
+        if (!e.isEnabled()) return;
+        e.channel = channel;
+        e.file = file;
+        e.operation = operation;
+        e.clip = clip;
+        e.commit();
+    }
+
+    /** audioCreateBegin(channel, file) - times MediaPlayer creation; null when disabled */
+    static Audio audioCreateBegin(String channel, String file) {
+        Audio e = new Audio();
+        if (!e.isEnabled()) return null;
+        e.channel = channel;
+        e.file = file;
+        e.operation = "create";
+        e.begin();
+        return e;
+    }
+
+    static void audioCreateEnd(Audio e) {
+        if (e == null) return;
+        e.end();
+        e.commit();
+    }
+
+    static void answerPrompt(String prompt, long openToFocusNanos) {
+        AnswerPrompt e = new AnswerPrompt();
+        if (!e.isEnabled()) return;
+        e.prompt = prompt;
+        e.openToFocus = openToFocusNanos;
+        e.commit();
+    }
+
+    static void puzzleAttempt(String room, boolean correct, int pendant, String outcome) {
+        PuzzleAttempt e = new PuzzleAttempt();
+        if (!e.isEnabled()) return;
+        e.room = room;
+        e.correct = correct;
+        e.pendant = pendant;
+        e.outcome = outcome;
+        e.commit();
+    }
+
+    /**
+     * cinematicStage(previous, sequence, stage)
+     *  - ends and commits the previous stage (may be null) and starts timing the next one
+     *  - pass stage == null to just close the sequence; returns the running stage (null if none / disabled)
+     */
+    static CinematicStage cinematicStage(CinematicStage previous, String sequence, String stage) {
+        if (previous != null) {
+            previous.end();
+            previous.commit();
+        }
+        if (stage == null) return null;
+        CinematicStage e = new CinematicStage();
+        if (!e.isEnabled()) return null;
+        e.sequence = sequence;
+        e.stage = stage;
+        e.begin();
+        return e;
+    }
+
+    /** cinematicStageWaited(running) - marks the running stage as held for the next stage's image */
+    static void cinematicStageWaited(CinematicStage running) {
+        if (running != null) running.waited = true;
+    }
+}
@@ -0,0 +1,228 @@
+/*
+    GameSimulator.java
+    ------------------
+    Command-line Monte Carlo simulator: plays the GameEngine rules with a player model many times,
+    in parallel, and reports death/escape ratios, step counts and pendant usage.
+
+    Usage:
+        >>java -cp out GameSimulator <random|greedy|error> [runs] [seed] [start pendant] [error rates...]
+        e.g. java -cp out GameSimulator error 1000000 42 3 0.3 0.5 0.2
+
+    Player models:
+        random : uniformly random among the actions available where the player stands
+        greedy : walks to the next unsolved room, always answers right, opens the south door with O, C and K
+        error  : like greedy, but answers each puzzle wrong with the given per-room probability
+                 (Room 1, Storage, Study; one value = same rate for all rooms, default 0.5)
+
+    NOTES:
+      - Needs no JavaFX; runs on every core via the common ForkJoinPool.
+      - Run i always uses a random stream derived from (seed, i) alone, and per-chunk results are merged
+        by addition, so the report is identical for a given seed whatever the thread count / split.
+      - Each leaf task reuses one engine and drives it through packed states (no per-step allocation).
+*/
+
+import java.util.*;                       // arrays, formatting
+import java.util.concurrent.*;           // fork-join
+
+
+public class GameSimulator {
+
+    enum Model { RANDOM, GREEDY, ERROR }
+
+    static final int MAX_STEPS = 10_000;                 // safety cap for the random model
+    private static final int LEAF_RUNS = 4096;           // playthroughs per fork-join leaf
+
+    private final Model model;
+    private final double[] errorRate;                    // per Room ordinal
+    private final int startPendant;
+    private final long seed;
+
+    GameSimulator(Model model, double[] errorRate, int startPendant, long seed) {
+        this.model = model;
+        this.errorRate = errorRate.clone();
+        this.startPendant = startPendant;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: java GameSimulator <random|greedy|error> [runs] [seed] [start pendant] [error rates...]");
+            System.exit(2);
+        }
+        Model model = Model.valueOf(args[0].toUpperCase(Locale.ROOT));
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+        int startPendant = args.length > 3 ? Integer.parseInt(args[3]) : GameState.START_PENDANT;
+
+        double[] rates = new double[GameEngine.Room.VALUES.length];
+        Arrays.fill(rates, model == Model.ERROR ? 0.5 : 0.0);
+        for (int i = 4; i < args.length && i - 4 < rates.length; i++) rates[i - 4] = Double.parseDouble(args[i]);
+        if (args.length == 5) Arrays.fill(rates, rates[0]);
+
+        GameSimulator sim = new GameSimulator(model, rates, startPendant, seed);
+        long t0 = System.nanoTime();
+        Stats stats = sim.run(runs);
+        double secs = (System.nanoTime() - t0) / 1e9;
+
+        System.out.println(model + " x " + runs + " (seed " + seed + ", pendant " + startPendant
+                + ", error rates " + Arrays.toString(rates) + ") on "
+                + ForkJoinPool.commonPool().getParallelism() + " workers in " + String.format(Locale.ROOT, "%.2f s", secs));
+        System.out.print(stats.report());
+    }
+
+    // ------------------------
+    // Running
+    // ------------------------
+
+    /**
+     * run(runs)
+     *  - plays runs playthroughs on the common ForkJoinPool and returns the merged statistics
+     */
+    Stats run(int runs) {
+        return ForkJoinPool.commonPool().invoke(new Chunk(0, runs));
+    }
+
+    /** Chunk - fork-join task over the run index range [from, to) */
+    private final class Chunk extends RecursiveTask<Stats> {
+        private static final long serialVersionUID = 1L;
+        private final int from, to;
+
+        Chunk(int from, int to) { this.from = from; this.to = to; }
+
+        @Override
+        protected Stats compute() {
+            if (to - from <= LEAF_RUNS) {
+                Stats s = new Stats(startPendant);
+                GameEngine engine = new GameEngine();
+                for (int i = from; i < to; i++) playOne(engine, i, s);
+                return s;
+            }
+            int mid = (from + to) >>> 1;
+            Chunk left = new Chunk(from, mid);
+            left.fork();
+            Stats right = new Chunk(mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * playOne(engine, index, into)
+     *  - one playthrough from the start screen to an ending (or MAX_STEPS), recorded into into
+     */
+    void playOne(GameEngine engine, int index, Stats into) {
+        SplittableRandom rnd = new SplittableRandom(mix(seed, index));
+        engine.load(GameState.withPendant(GameState.INITIAL, startPendant));
+        engine.step(GameEngine.Action.APPROACH);
+        engine.step(GameEngine.Action.TAKE_PENDANT);
+
+        int steps = 2;
+        GameEngine.Action last = GameEngine.Action.TAKE_PENDANT;
+        while (!engine.state().ended() && steps < MAX_STEPS) {
+            last = nextAction(engine.state().bits(), rnd);
+            engine.step(last);
+            steps++;
+        }
+        into.record(engine.state().bits(), last == GameEngine.Action.TRY_SOUTH_DOOR, steps);
+    }
+
+    /**
+     * nextAction(state, rnd)
+     *  - the player model: chooses what to do from the packed state
+     */
+    GameEngine.Action nextAction(long s, SplittableRandom rnd) {
+        GameEngine.Room here = GameEngine.roomAt(GameState.location(s));
+        if (model == Model.RANDOM) {
+            if (here != null) return RANDOM_IN_ROOM[rnd.nextInt(RANDOM_IN_ROOM.length)];
+            return RANDOM_IN_HALLWAY[rnd.nextInt(RANDOM_IN_HALLWAY.length)];
+        }
+
+        // greedy / error: solve the room we stand in, else walk to the next unsolved one, else the door
+        if (here != null && !GameState.isSolved(s, here)) {
+            return rnd.nextDouble() < errorRate[here.ordinal()] ? GameEngine.Action.ANSWER_WRONG : GameEngine.Action.ANSWER_RIGHT;
+        }
+        for (GameEngine.Room r : GameEngine.Room.VALUES) {
+            if (!GameState.isSolved(s, r)) return ENTER[r.ordinal()];
+        }
+        return GameEngine.Action.TRY_SOUTH_DOOR;
+    }
+
+    private static final GameEngine.Action[] ENTER = {
+            GameEngine.Action.ENTER_ROOM_1, GameEngine.Action.ENTER_STORAGE, GameEngine.Action.ENTER_STUDY };
+    private static final GameEngine.Action[] RANDOM_IN_HALLWAY = {
+            GameEngine.Action.ENTER_ROOM_1, GameEngine.Action.ENTER_STORAGE, GameEngine.Action.ENTER_STUDY,
+            GameEngine.Action.TRY_SOUTH_DOOR };
+    private static final GameEngine.Action[] RANDOM_IN_ROOM = {
+            GameEngine.Action.ANSWER_RIGHT, GameEngine.Action.ANSWER_WRONG, GameEngine.Action.GO_HALLWAY };
+
+    /** mix(seed, index) - SplitMix64 finaliser: independent per-run seed from (seed, index) alone */
+    static long mix(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // ------------------------
+    // Statistics
+    // ------------------------
+
+    /**
+     * Stats
+     *  - counters merged by addition (order independent, hence deterministic)
+     */
+    static final class Stats {
+        long runs, escapes, deaths, timeouts;
+        long doorDeaths;                                 // deaths caused by the south door (rest: puzzles)
+        long totalSteps;
+        int maxSteps;
+        final int startPendant;
+        final long[] livesLost;                          // index = pendant lives used in the run
+
+        Stats(int startPendant) {
+            this.startPendant = startPendant;
+            livesLost = new long[Math.max(startPendant, 0) + 1];
+        }
+
+        void record(long s, boolean lastAtDoor, int steps) {
+            runs++;
+            totalSteps += steps;
+            maxSteps = Math.max(maxSteps, steps);
+            GameEngine.Location where = GameState.location(s);
+            if (where == GameEngine.Location.ESCAPED) escapes++;
+            else if (where == GameEngine.Location.DEAD) {
+                deaths++;
+                if (lastAtDoor) doorDeaths++;
+            } else timeouts++;
+
+            int used = startPendant - Math.max(GameState.pendant(s), 0);
+            livesLost[Math.min(Math.max(used, 0), livesLost.length - 1)]++;
+        }
+
+        Stats merge(Stats o) {
+            runs += o.runs; escapes += o.escapes; deaths += o.deaths; timeouts += o.timeouts;
+            doorDeaths += o.doorDeaths;
+            totalSteps += o.totalSteps;
+            maxSteps = Math.max(maxSteps, o.maxSteps);
+            for (int i = 0; i < livesLost.length; i++) livesLost[i] += o.livesLost[i];
+            return this;
+        }
+
+        String report() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "  escaped  : %,d (%.2f%%)%n", escapes, pct(escapes)));
+            sb.append(String.format(Locale.ROOT, "  died     : %,d (%.2f%%), %,d at the south door%n", deaths, pct(deaths), doorDeaths));
+            if (timeouts > 0) sb.append(String.format(Locale.ROOT, "  timed out: %,d (%.2f%%)%n", timeouts, pct(timeouts)));
+            sb.append(String.format(Locale.ROOT, "  steps    : avg %.2f, max %d%n", runs == 0 ? 0.0 : (double) totalSteps / runs, maxSteps));
+            sb.append("  pendant lives used:\n");
+            for (int i = 0; i < livesLost.length; i++) {
+                if (livesLost[i] == 0) continue;
+                sb.append(String.format(Locale.ROOT, "    %d : %,d (%.2f%%)%n", i, livesLost[i], pct(livesLost[i])));
+            }
+            return sb.toString();
+        }
+
+        private double pct(long n) {
+            return runs == 0 ? 0.0 : 100.0 * n / runs;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+    GameState.java
+    --------------
+    Plain game state (no JavaFX): collected letters, solved rooms, pendant lives, flags and location,
+    packed into a single long.
+
+    Layout of the packed value (bit 0 = least significant):
+        bits  0-2  : letters collected   (one bit per Room: O, C, K)
+        bits  3-5  : rooms solved        (one bit per Room)
+        bit   6    : pendant taken
+        bit   7    : ended (death or escape reached)
+        bits  8-15 : location            (GameEngine.Location ordinal)
+        bits 32-63 : pendant number      (signed int)
+
+    NOTES:
+      - Owned and mutated by GameEngine; everything else reads it.
+      - The static helpers work on the raw long and never allocate, so simulators and replay tools can
+        keep millions of states as long[] and compare them with ==.
+      - bits() gives a trivial snapshot; equals/hashCode compare the packed value.
+*/
+
+final class GameState {
+
+    static final int START_PENDANT = 3;                  // pendant "life" count at the start of a run
+
+    // ------------------------
+    // Bit layout
+    // ------------------------
+    private static final int SOLVED_SHIFT = 3;
+    private static final long LETTERS_MASK = 0x7L;
+    private static final long PENDANT_TAKEN = 1L << 6;
+    private static final long ENDED = 1L << 7;
+    private static final int LOCATION_SHIFT = 8;
+    private static final long LOCATION_MASK = 0xFFL << LOCATION_SHIFT;
+    private static final int PENDANT_SHIFT = 32;
+
+    private static final GameEngine.Location[] LOCATIONS = GameEngine.Location.values();
+
+    /** packed start-of-run state: title screen, nothing collected, full pendant */
+    static final long INITIAL = withPendant(withLocation(0L, GameEngine.Location.TITLE), START_PENDANT);
+
+    long bits = INITIAL;
+
+    GameState() { }
+
+    // ------------------------
+    // Read accessors
+    // ------------------------
+
+    long bits() { return bits; }
+    GameEngine.Location location() { return location(bits); }
+    int pendantNumber() { return pendant(bits); }
+    boolean pendantTaken() { return pendantTaken(bits); }
+    boolean ended() { return ended(bits); }
+    boolean isSolved(GameEngine.Room room) { return isSolved(bits, room); }
+
+    /** hasLetter(c) - whether the letter c (O, C or K) was collected */
+    boolean hasLetter(char c) {
+        for (GameEngine.Room r : GameEngine.Room.VALUES) {
+            if (r.letter == c) return hasLetter(bits, r);
+        }
+        return false;
+    }
+
+    /** hasAllLetters() - O, C and K collected (the south door opens) */
+    boolean hasAllLetters() { return hasAllLetters(bits); }
+
+    /**
+     * reset()
+     *  - back to the start-of-run values (used by Start/Retry/Restart)
+     */
+    void reset() {
+        bits = INITIAL;
+    }
+
+    // ------------------------
+    // Packed-value helpers (allocation-free)
+    // ------------------------
+
+    static GameEngine.Location location(long s) {
+        return LOCATIONS[(int) ((s & LOCATION_MASK) >>> LOCATION_SHIFT)];
+    }
+
+    static long withLocation(long s, GameEngine.Location location) {
+        return (s & ~LOCATION_MASK) | ((long) location.ordinal() << LOCATION_SHIFT);
+    }
+
+    static int pendant(long s) {
+        return (int) (s >> PENDANT_SHIFT);
+    }
+
+    static long withPendant(long s, int pendant) {
+        return (s & 0xFFFFFFFFL) | ((long) pendant << PENDANT_SHIFT);
+    }
+
+    static boolean hasLetter(long s, GameEngine.Room room) {
+        return (s & (1L << room.ordinal())) != 0;
+    }
+
+    static boolean hasAllLetters(long s) {
+        return (s & LETTERS_MASK) == LETTERS_MASK;
+    }
+
+    static boolean isSolved(long s, GameEngine.Room room) {
+        return (s & (1L << (SOLVED_SHIFT + room.ordinal()))) != 0;
+    }
+
+    /** withSolved(s, room) - room solved and its letter collected */
+    static long withSolved(long s, GameEngine.Room room) {
+        return s | (1L << room.ordinal()) | (1L << (SOLVED_SHIFT + room.ordinal()));
+    }
+
+    static boolean pendantTaken(long s) {
+        return (s & PENDANT_TAKEN) != 0;
+    }
+
+    static long withPendantTaken(long s) {
+        return s | PENDANT_TAKEN;
+    }
+
+    static boolean ended(long s) {
+        return (s & ENDED) != 0;
+    }
+
+    static long withEnded(long s) {
+        return s | ENDED;
+    }
+
+    // ------------------------
+    // Object methods
+    // ------------------------
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof GameState && ((GameState) o).bits == bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        return toString(bits);
+    }
+
+    /** toString(s) - readable form of a packed state (debugging / simulator dumps) */
+    static String toString(long s) {
+        StringBuilder letters = new StringBuilder();
+        StringBuilder solved = new StringBuilder();
+        for (GameEngine.Room r : GameEngine.Room.VALUES) {
+            if (hasLetter(s, r)) letters.append(r.letter);
+            if (isSolved(s, r)) solved.append(solved.length() == 0 ? "" : ",").append(r.name());
+        }
+        return "GameState[" + location(s) + ", letters=" + letters + ", solved=[" + solved + "]"
+                + ", pendant=" + pendant(s) + (pendantTaken(s) ? " (taken)" : "") + (ended(s) ? ", ended" : "") + "]";
+    }
+}
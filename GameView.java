@@ -0,0 +1,170 @@
+/*
+    GameView.java
+    -------------
+    The game's single long-lived Scene. Screens are shown by swapping what sits inside its layers instead of
+    building a new Scene (and a new StackPane, mask rectangle and fit bindings) for every screen:
+
+        root (StackPane, black)
+          ├─ background : one ImageView, fitted to the root once; only its Image changes
+          ├─ dim        : shared translucent mask for readability, sized to the root once (LAYERED)
+          └─ content    : the current screen's overlay (BorderPane), swapped in by show()
+
+    Render modes (-Dcorridor.render=baked | layered, default baked):
+        LAYERED : background image + full-window 35% black rectangle, blended on every repaint
+        BAKED   : the mask is multiplied into each cached background once (ImageCache.bakeDim), the rectangle
+                  is hidden, and repainting a region only copies opaque pixels (no alpha blend per pulse)
+
+    NOTES:
+      - Overlays are built by the caller and may be kept and shown again; a node has one parent, so showing
+        an overlay simply moves it back into the content layer.
+      - blackout() clears background and content, leaving the black root (no separate black Scene).
+      - The background's userData is the image file name, so a resize can re-decode it at another tier.
+      - The scene carries the game stylesheet (UiKit), so overlays only need style classes.
+      - BAKED: the view keeps no copies. ImageCache replaces each loaded entry by its dimmed copy (inside the
+        cache budget) and reports it through backgroundBaked(); until then the background is shown layered.
+        Any ImageCache.Dimmed image is shown without the rectangle.
+      - The background layer is cached (setCache), so a repaint of a dirty region (e.g. a hover animation,
+        see UiKit) blits the cached bitmap instead of re-scaling the image. JavaFX only repaints dirty
+        regions by default (prism.dirtyopts); nothing here needs a full-window repaint.
+      - FX thread only once the scene is on the stage.
+*/
+
+import javafx.scene.*;                    // Scene, Parent, CacheHint
+import javafx.scene.image.*;              // Image, ImageView
+import javafx.scene.layout.StackPane;     // layers
+import javafx.scene.paint.Color;          // mask colour
+import javafx.scene.shape.Rectangle;      // mask
+
+
+final class GameView {
+
+    enum RenderMode { LAYERED, BAKED }
+
+    static final double DIM_ALPHA = 0.35;                // opacity of the black mask (also PixelCacheBuilder)
+
+    private final RenderMode mode;
+    private Image source;                                // background shown last
+    private boolean smooth = true;                       // smooth background scaling (quality setting)
+
+    private final StackPane root = new StackPane();
+    private final ImageView background = new ImageView();
+    private final Rectangle dim = new Rectangle();
+    private final StackPane content = new StackPane();
+    private final Scene scene;
+
+    GameView(double w, double h) {
+        this(w, h, renderModeFromProperties());
+    }
+
+    GameView(double w, double h, RenderMode mode) {
+        this.mode = mode;
+        root.getStyleClass().add(UiKit.ROOT);            // black; shows through when there is no background
+        root.setPrefSize(w, h);
+
+        // background fills the window (ratio not preserved), bound once for the lifetime of the scene
+        background.setPreserveRatio(false);
+        background.setSmooth(true);
+        background.setManaged(false);
+        background.setCache(true);                       // static layer: repaints blit the cached bitmap
+        background.setCacheHint(CacheHint.QUALITY);
+        background.fitWidthProperty().bind(root.widthProperty());
+        background.fitHeightProperty().bind(root.heightProperty());
+
+        // translucent rectangle to dim the background for readability
+        dim.setFill(Color.color(0, 0, 0, DIM_ALPHA));
+        dim.setManaged(false);
+        dim.widthProperty().bind(root.widthProperty());
+        dim.heightProperty().bind(root.heightProperty());
+
+        root.getChildren().addAll(background, dim, content);
+        scene = new Scene(root, w, h);
+        UiKit.install(scene);
+    }
+
+    /**
+     * renderModeFromProperties()
+     *  - -Dcorridor.render=layered keeps the live mask; anything else (default) bakes it
+     */
+    static RenderMode renderModeFromProperties() {
+        return "layered".equalsIgnoreCase(System.getProperty("corridor.render", "").trim())
+                ? RenderMode.LAYERED : RenderMode.BAKED;
+    }
+
+    RenderMode mode() {
+        return mode;
+    }
+
+    Scene scene() {
+        return scene;
+    }
+
+    /** background() - the single background ImageView (its image changes per screen) */
+    ImageView background() {
+        return background;
+    }
+
+    /**
+     * show(bg, bgFile, overlay)
+     *  - puts bg (may be null: plain black) behind the dim mask and overlay in the content layer
+     *  - bgFile is remembered as the background's userData for tier re-decoding
+     */
+    void show(Image bg, String bgFile, Parent overlay) {
+        setBackground(bg);
+        background.setUserData(bg != null ? bgFile : null);
+        background.setSmooth(smooth);
+        content.getChildren().setAll(overlay);
+    }
+
+    /**
+     * setSmoothScaling(on)
+     *  - off: nearest-neighbour background scaling (cheaper on the software renderer)
+     */
+    void setSmoothScaling(boolean on) {
+        smooth = on;
+        background.setSmooth(on);
+    }
+
+    boolean smoothScaling() {
+        return smooth;
+    }
+
+    /**
+     * replaceBackground(bg)
+     *  - same file at another resolution tier (resize); keeps the userData and the content
+     */
+    void replaceBackground(Image bg) {
+        setBackground(bg);
+    }
+
+    /**
+     * blackout()
+     *  - empties the background and content layers; the black root is all that remains
+     */
+    void blackout() {
+        source = null;
+        background.setImage(null);
+        background.setUserData(null);
+        background.setVisible(false);
+        dim.setVisible(false);
+        content.getChildren().clear();
+    }
+
+    // ------------------------
+    // Background & baked mask
+    // ------------------------
+
+    private void setBackground(Image bg) {
+        source = bg;
+        background.setVisible(bg != null);
+        background.setImage(bg);
+        dim.setVisible(bg != null ? !(bg instanceof ImageCache.Dimmed) : mode == RenderMode.LAYERED);
+    }
+
+    /**
+     * backgroundBaked(src, dimmed)
+     *  - ImageCache replaced src by its dimmed copy (BAKED); swaps it in if src is still on screen
+     */
+    void backgroundBaked(Image src, Image dimmed) {
+        if (source == src) setBackground(dimmed);
+    }
+}
@@ -0,0 +1,369 @@
+/*
+    ImageCache.java
+    ---------------
+    Shared decoded-image cache used by CorridorAdventure.loadImage.
+
+    NOTES:
+      - Images are keyed by file name + resolution tier (e.g. "hallway.jpg@SMALL") and kept in
+        least-recently-used order.
+      - Backgrounds are decoded straight to the tier size (requested width/height on Image), never
+        at full native resolution, so a 1000x700 window does not hold multi-megapixel textures.
+      - Memory is accounted as width x height x 4 bytes (decoded ARGB) once an image finishes loading.
+      - Decoding runs in the background (Image(url, true)), so a cold miss never blocks the FX thread.
+      - File lookups go through AssetIndex (in-memory), never through File.exists.
+      - When a PixelCache blob exists for the file + tier, it is used instead of decoding at all.
+      - Budget can be changed with -Dcorridor.imageCacheMB=<megabytes> (default 64).
+      - Every lookup is reported as a corridor.ImageLoad JFR event (hit, pixel cache, or timed decode).
+      - Baked dim mask (GameView BAKED mode, bakeDim()): once an entry has loaded it is dimmed on the "bg-bake"
+        thread and the dimmed copy replaces the entry's image, so the cache holds one copy per background and
+        its bytes stay inside the budget. Pixel cache blobs written dimmed (PixelCacheBuilder) are used as is.
+      - All methods are meant to be called from the JavaFX Application Thread.
+*/
+
+import javafx.application.Platform;       // baked copies replace their entry on the FX thread
+import javafx.scene.image.*;              // decoded image held by the cache; dimmed copies
+
+import java.util.*;                       // LinkedHashMap (LRU order), iterators
+import java.util.concurrent.*;            // bake thread
+import java.util.function.BiConsumer;     // baked-copy listener
+
+
+final class ImageCache {
+
+    // ------------------------
+    // Configuration
+    // ------------------------
+    private static final long DEFAULT_BUDGET_MB = 64;    // default resident budget in megabytes
+
+    private final AssetIndex assets;                     // resolves file names without touching the disk
+    private final PixelCache pixels;                     // pre-decoded backgrounds (null = always decode)
+    private final long budgetBytes;                      // max decoded bytes kept resident
+
+    // ------------------------
+    // Cache state
+    // ------------------------
+    // access-ordered map: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long residentBytes = 0;                      // sum of accounted entry sizes
+
+    // ------------------------
+    // Counters
+    // ------------------------
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long baked = 0;
+
+    // ------------------------
+    // Baked dim mask
+    // ------------------------
+    private static final ExecutorService BAKER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "bg-bake");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    private double dimAlpha;                             // 0 = entries keep their decoded pixels
+    private BiConsumer<Image, Image> onBaked;            // (source, dimmed) after an entry was replaced
+
+    /** An image with the black mask already multiplied in (opaque); GameView hides its live mask for it. */
+    static final class Dimmed extends WritableImage {
+        Dimmed(int width, int height) { super(width, height); }
+        Dimmed(PixelBuffer<java.nio.ByteBuffer> pixels) { super(pixels); }
+    }
+
+    /**
+     * Tier
+     *  - fixed decode sizes for full-window backgrounds; the smallest tier covering the viewport wins
+     *  - backgrounds are stretched (preserveRatio=false), so each tier is an exact width x height
+     */
+    enum Tier {
+        SMALL(1024, 720),
+        MEDIUM(1600, 1120),
+        LARGE(2560, 1800);
+
+        final int width;
+        final int height;
+
+        Tier(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * forViewport(w, h)
+         *  - picks the smallest tier at least as large as the viewport (LARGE for anything bigger)
+         *  - unknown sizes (0 / NaN before the stage is shown) map to SMALL, the default window size
+         */
+        static Tier forViewport(double w, double h) {
+            for (Tier t : values()) {
+                if (!(w > t.width) && !(h > t.height)) return t;
+            }
+            return LARGE;
+        }
+
+        /** lower() - the next smaller tier (SMALL stays SMALL) */
+        Tier lower() {
+            return this == SMALL ? SMALL : values()[ordinal() - 1];
+        }
+    }
+
+    /** One cached image plus the number of bytes it was accounted for (0 while still loading). */
+    private static final class Entry {
+        Image image;                                     // replaced by its Dimmed copy once baked
+        long bytes;
+        boolean baking;
+        Entry(Image image) { this.image = image; }
+    }
+
+    ImageCache(AssetIndex assets, PixelCache pixels, long budgetBytes) {
+        this.assets = assets;
+        this.pixels = pixels;
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * budgetFromProperties()
+     *  - reads -Dcorridor.imageCacheMB, falling back to DEFAULT_BUDGET_MB on missing/invalid values
+     */
+    static long budgetFromProperties() {
+        long mb = DEFAULT_BUDGET_MB;
+        String prop = System.getProperty("corridor.imageCacheMB");
+        if (prop != null) {
+            try {
+                mb = Math.max(0, Long.parseLong(prop.trim()));
+            } catch (NumberFormatException ex) {
+                System.err.println("Ignoring invalid corridor.imageCacheMB value: " + prop);
+            }
+        }
+        return mb * 1024 * 1024;
+    }
+
+    /**
+     * bakeDim(alpha, onBaked)
+     *  - from now on every loaded entry is replaced by a copy dimmed by alpha (same size, same accounted bytes)
+     *  - onBaked(source, dimmed) runs on the FX thread after a replacement, so a view showing source can swap
+     */
+    void bakeDim(double alpha, BiConsumer<Image, Image> onBaked) {
+        this.dimAlpha = alpha;
+        this.onBaked = onBaked;
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {      // iteration keeps the LRU order
+            if (e.getValue().bytes > 0) bake(e.getKey(), e.getValue());
+        }
+    }
+
+    // ------------------------
+    // Lookup
+    // ------------------------
+
+    /**
+     * get(fileName, tier)
+     *  - returns the cached Image for fileName decoded at the tier size, starting a background decode on a miss
+     *  - returns null if the file does not exist (callers keep their existing fallbacks)
+     *  - a freshly returned image may still be loading; ImageView shows it as soon as it is ready
+     */
+    Image get(String fileName, Tier tier) {
+        if (fileName == null) return null;
+        String key = keyFor(fileName, tier);
+
+        Entry e = entries.get(key);                      // also marks the entry as most recently used
+        if (e != null && !e.image.isError()) {
+            hits++;
+            GameEvents.imageLoaded(fileName, tier.name(), (int) e.image.getWidth(), (int) e.image.getHeight(), e.bytes, "cache");
+            return e.image;
+        }
+        if (e != null) remove(key);                      // failed decode: drop it and try again
+
+        misses++;
+        String url = assets.imageUrl(fileName);           // loose file or capk: archive entry
+        if (url == null) return null;
+
+        // pre-decoded pixels: mapped straight into a PixelBuffer, ready immediately
+        Image ready = pixels != null ? pixels.load(fileName, tier.width, tier.height, dimAlpha) : null;
+        if (ready != null) {
+            Entry cached = new Entry(ready);
+            entries.put(key, cached);
+            account(key, cached);
+            GameEvents.imageLoaded(fileName, tier.name(), tier.width, tier.height, cached.bytes, "pixel-cache");
+            return ready;
+        }
+
+        // requested size = tier size, preserveRatio=false (stretched bg), smooth=true, background=true
+        GameEvents.ImageLoad load = GameEvents.imageDecodeBegin(fileName, tier.name()); // null unless JFR records it
+        Image img = new Image(url, tier.width, tier.height, false, true, true);
+        Entry created = new Entry(img);
+        entries.put(key, created);
+
+        if (img.getProgress() >= 1.0) {
+            decoded(key, created, load);
+        } else {
+            // account for the decoded size once loading completes (listener fires on the FX thread)
+            img.progressProperty().addListener((obs, oldV, newV) -> {
+                if (newV.doubleValue() >= 1.0) decoded(key, created, load);
+            });
+        }
+        return img;
+    }
+
+    /** decoded(key, e, load) - a background decode finished: account it and close its JFR event */
+    private void decoded(String key, Entry e, GameEvents.ImageLoad load) {
+        account(key, e);
+        Image img = e.image;
+        GameEvents.imageDecodeEnd(load, (int) img.getWidth(), (int) img.getHeight(),
+                (long) img.getWidth() * (long) img.getHeight() * 4L);
+    }
+
+    /**
+     * isReady(fileName, tier)
+     *  - true when fileName is cached at tier and has finished loading; also true when there is nothing to
+     *    wait for (failed decode, or no such file)
+     *  - a peek: no hit / miss counted, no JFR event, no change to the LRU order, no decode started
+     */
+    boolean isReady(String fileName, Tier tier) {
+        Entry e = peek(keyFor(fileName, tier));
+        if (e == null) return assets.imageUrl(fileName) == null;
+        return e.image.isError() || e.image.getProgress() >= 1.0;
+    }
+
+    /** peek(key) - the entry for key without marking it used (get() on an access-ordered map would) */
+    private Entry peek(String key) {
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {      // a few dozen entries at most
+            if (e.getKey().equals(key)) return e.getValue();
+        }
+        return null;
+    }
+
+    /**
+     * prefetch(fileName, tier)
+     *  - starts decoding fileName without needing the result yet (e.g. the next cinematic stage)
+     */
+    void prefetch(String fileName, Tier tier) {
+        get(fileName, tier);
+    }
+
+    /**
+     * evict(fileName)
+     *  - drops every tier of fileName from the cache (used for large one-off images once their sequence is over)
+     *  - views still showing the image keep it alive; the cache simply stops holding it
+     */
+    void evict(String fileName) {
+        if (fileName == null) return;
+        for (Tier t : Tier.values()) {
+            if (remove(keyFor(fileName, t)) != null) evictions++;
+        }
+    }
+
+    private static String keyFor(String fileName, Tier tier) {
+        return fileName + "@" + tier.name();
+    }
+
+    // ------------------------
+    // Accounting & eviction
+    // ------------------------
+
+    /**
+     * account(key, e)
+     *  - records the decoded size of a finished image and trims the cache back under budget
+     *  - ignores entries that were evicted or replaced while they were loading
+     */
+    private void account(String key, Entry e) {
+        if (entries.get(key) != e || e.bytes > 0) return;
+        if (e.image.isError()) {
+            remove(key);
+            return;
+        }
+        e.bytes = (long) e.image.getWidth() * (long) e.image.getHeight() * 4L;
+        residentBytes += e.bytes;
+        trim(key);
+        bake(key, e);
+    }
+
+    /**
+     * bake(key, e)
+     *  - dims a loaded entry on the bake thread and puts the copy in its place (bakeDim mode only)
+     *  - the source is released by the cache; views still showing it keep it until onBaked swaps them
+     */
+    private void bake(String key, Entry e) {
+        if (dimAlpha <= 0 || e.baking || e.image instanceof Dimmed || e.image.isError()) return;
+        Image src = e.image;
+        double alpha = dimAlpha;
+        e.baking = true;
+        try {
+            BAKER.execute(() -> {
+                Dimmed out = dimmed(src, alpha);
+                Platform.runLater(() -> {
+                    e.baking = false;
+                    if (e.image != src || peek(key) != e) return;      // evicted or replaced meanwhile
+                    e.image = out;
+                    baked++;
+                    if (onBaked != null) onBaked.accept(src, out);
+                });
+            });
+        } catch (RejectedExecutionException ex) {
+            e.baking = false;
+        }
+    }
+
+    /**
+     * dimmed(src, alpha)
+     *  - opaque copy of src as it looks on a black root under a black mask of opacity alpha:
+     *    every channel x (1 - alpha)
+     *  - works on premultiplied pixels, so transparent areas come out black like the root behind them
+     */
+    static Dimmed dimmed(Image src, double alpha) {
+        int w = (int) src.getWidth();
+        int h = (int) src.getHeight();
+        int[] px = new int[w * h];
+        src.getPixelReader().getPixels(0, 0, w, h, PixelFormat.getIntArgbPreInstance(), px, 0, w);
+        int k = (int) Math.round((1.0 - alpha) * 256);
+        for (int i = 0; i < px.length; i++) {
+            int p = px[i];
+            int r = (((p >> 16) & 0xFF) * k) >> 8;
+            int g = (((p >> 8) & 0xFF) * k) >> 8;
+            int b = ((p & 0xFF) * k) >> 8;
+            px[i] = 0xFF000000 | (r << 16) | (g << 8) | b;
+        }
+        Dimmed out = new Dimmed(w, h);
+        out.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbPreInstance(), px, 0, w);
+        return out;
+    }
+
+    /**
+     * trim(keep)
+     *  - evicts least-recently-used entries until residentBytes fits the budget
+     *  - never evicts 'keep' (the entry that just finished loading) or entries still loading (bytes == 0,
+     *    e.g. in-flight prefetches; they are trimmed once account() has sized them)
+     */
+    private void trim(String keep) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (residentBytes > budgetBytes && it.hasNext()) {
+            Map.Entry<String, Entry> oldest = it.next();
+            if (oldest.getKey().equals(keep) || oldest.getValue().bytes == 0) continue; // still loading: frees nothing
+            residentBytes -= oldest.getValue().bytes;
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private Entry remove(String key) {
+        Entry e = entries.remove(key);
+        if (e != null) residentBytes -= e.bytes;
+        return e;
+    }
+
+    // ------------------------
+    // Stats
+    // ------------------------
+
+    /**
+     * stats()
+     *  - one-line summary for logs
+     */
+    String stats() {
+        return "ImageCache[entries=" + entries.size()
+                + ", resident=" + (residentBytes / 1024) + "KB/" + (budgetBytes / 1024) + "KB"
+                + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + ", baked=" + baked + "]"
+                + (pixels != null ? " " + pixels.stats() : "");
+    }
+}
@@ -0,0 +1,95 @@
+/*
+    InventoryPanel.java
+    -------------------
+    The top-right inventory (magnifying glass, pendant, letters L O C K): one fixed set of Labels whose text is
+    bound to observable copies of the GameState fields they show.
+
+    NOTES:
+      - sync(state) pushes the GameState into the properties. An unchanged GameState returns at once;
+        otherwise only properties whose value changed fire, so only the affected Label gets new text
+        (and only that Label asks for layout). Nothing is allocated for unchanged items.
+      - The line texts (including their trailing padding) are the ones the original per-call rebuild produced.
+      - FX thread only (the node is docked into the current screen by CorridorAdventure.enterScreen).
+*/
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.*;           // observable state copies
+import javafx.geometry.*;
+import javafx.scene.control.Label;
+import javafx.scene.control.Separator;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+
+final class InventoryPanel {
+
+    // ------------------------
+    // Observable state (mirrors GameState)
+    // ------------------------
+    private final BooleanProperty pendantTaken = new SimpleBooleanProperty(false);
+    private final IntegerProperty pendantNumber = new SimpleIntegerProperty(GameState.START_PENDANT);
+    private final BooleanProperty[] letters = new BooleanProperty[GameEngine.Room.VALUES.length]; // by Room ordinal
+    private long synced = Long.MIN_VALUE;                // packed state last pushed, MIN_VALUE = never
+
+    private final VBox box = new VBox(4);
+
+    InventoryPanel() {
+        box.setPadding(new Insets(6));
+        box.setAlignment(Pos.TOP_RIGHT);
+        box.setStyle("-fx-background-color: rgba(0,0,0,0.45); -fx-border-color: #444; -fx-border-width: 1;");
+
+        // static magnifying glass line (always present)
+        Label glass = line();
+        glass.setText("1. Magnifying Glass");
+
+        // pendant line: shows either "not taken" or current lives
+        Label pendant = line();
+        pendant.textProperty().bind(Bindings.createStringBinding(() -> pendantTaken.get()
+                ? "2. Pendant (" + Math.max(pendantNumber.get(), 0) + ")         "
+                : "2. Pendant (not taken)", pendantTaken, pendantNumber));
+
+        // the L is permanent once the pendant is taken, other letters show if collected
+        Label l = line();
+        l.textProperty().bind(Bindings.when(pendantTaken)
+                .then("3. L : L                      ")
+                .otherwise("3. L : _                      "));
+
+        box.getChildren().addAll(glass, pendant, new Separator(), l);
+
+        String[] found = { "O                    ", "C                      ", "K                      " };
+        for (GameEngine.Room r : GameEngine.Room.VALUES) {
+            letters[r.ordinal()] = new SimpleBooleanProperty(false);
+            String prefix = (4 + r.ordinal()) + ". " + r.letter + " : ";
+            Label letter = line();
+            letter.textProperty().bind(Bindings.when(letters[r.ordinal()])
+                    .then(prefix + found[r.ordinal()])
+                    .otherwise(prefix + "_                      "));
+            box.getChildren().add(letter);
+        }
+    }
+
+    private static Label line() {
+        Label label = new Label();
+        label.setTextFill(Color.WHITE);
+        label.setFont(Font.font(13));
+        return label;
+    }
+
+    VBox node() {
+        return box;
+    }
+
+    /**
+     * sync(state)
+     *  - copies pendant / letter values into the bound properties; no-op when the state is unchanged
+     */
+    void sync(GameState state) {
+        long bits = state.bits();
+        if (bits == synced) return;
+        synced = bits;
+        pendantTaken.set(GameState.pendantTaken(bits));
+        pendantNumber.set(GameState.pendant(bits));
+        for (GameEngine.Room r : GameEngine.Room.VALUES) letters[r.ordinal()].set(GameState.hasLetter(bits, r));
+    }
+}
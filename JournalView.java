@@ -0,0 +1,100 @@
+/*
+    JournalView.java
+    ----------------
+    On-screen viewer for the EventJournal (F2 toggles it), drawn on top of the current screen.
+
+    NOTES:
+      - A ListView over a read-only window of the journal: only the visible rows get cells and a row is only
+        formatted when its cell shows it, so the viewer scrolls a journal of millions of entries as cheaply as
+        a short one.
+      - The window (oldest .. newest sequence number) is re-taken when an entry is added while the viewer is
+        open; rows overwritten since show "(overwritten)". Nothing is kept while it is closed.
+      - FX thread only.
+*/
+
+import javafx.collections.ObservableListBase;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import javafx.scene.input.KeyCode;        // F2 toggle
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.Pane;          // scene root the viewer is added to
+import javafx.stage.Stage;
+
+
+final class JournalView {
+
+    private final EventJournal journal;
+    private final ListView<String> list = new ListView<>();
+    private boolean open;
+
+    JournalView(EventJournal journal) {
+        this.journal = journal;
+        list.setMaxSize(820, 520);
+        list.setFixedCellSize(22);                       // no per-row measuring while scrolling
+        list.setFocusTraversable(false);
+        list.setPadding(new Insets(4));
+        list.setStyle("-fx-font-family: 'Monospaced'; -fx-font-size: 12px;");
+    }
+
+    /** Fixed window [from, to) of journal sequence numbers; rows are formatted on demand. */
+    private static final class Window extends ObservableListBase<String> {
+        private final EventJournal journal;
+        private final long from;
+        private final int size;
+
+        Window(EventJournal journal) {
+            this.journal = journal;
+            this.from = journal.oldest();
+            this.size = (int) (journal.total() - from);
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+            String line = journal.format(from + index);
+            return line != null ? line : "(overwritten)";
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * install(stage, scene)
+     *  - F2 opens / closes the viewer on the scene's root
+     */
+    void install(Stage stage, Scene scene) {
+        stage.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.F2) {
+                setOpen(scene, !open);
+                e.consume();
+            }
+        });
+    }
+
+    void setOpen(Scene scene, boolean visible) {
+        open = visible;
+        if (!(scene.getRoot() instanceof Pane)) return;
+        Pane root = (Pane) scene.getRoot();
+        if (visible) {
+            journal.setListener(this::refresh);
+            refresh();
+            if (list.getParent() != root) root.getChildren().add(list);
+            list.toFront();
+        } else {
+            journal.setListener(null);
+            root.getChildren().remove(list);
+            list.setItems(null);                         // drop the window while closed
+        }
+    }
+
+    /** re-takes the journal window and scrolls to the newest entry */
+    private void refresh() {
+        Window w = new Window(journal);
+        list.setItems(w);
+        if (w.size() > 0) list.scrollTo(w.size() - 1);
+    }
+}
@@ -0,0 +1,328 @@
+/*
+    PerfMonitor.java
+    ----------------
+    Scene-switch latency instrumentation + optional on-screen performance HUD.
+
+    What is measured per transition (all System.nanoTime, FX thread):
+        action  : the navigation started (show* method entered, i.e. the button press)
+        built   : scene graph finished, just before primaryStage.setScene
+        set     : setScene returned
+        pulse   : first layout pulse of the new scene (post-layout pulse listener), i.e. the frame
+                  that actually draws it
+
+    NOTES:
+      - Per-scene histograms of action -> pulse keep the most recent 1024 samples and report p50/p99/max;
+        build and setScene times are reported as averages.
+      - The HUD (F3 toggles it; -Dcorridor.hud=true shows it from the start) displays FPS, the last
+        transition time, heap in use, the number of live MediaPlayers and FX-thread stalls (FxWatchdog).
+        It is a mouse-transparent label on top of the scene root, so it costs nothing while hidden.
+      - The game reuses one Scene (GameView): setScene is then a no-op and "built" includes the content swap.
+      - Pulse statistics: the interval between consecutive pulses of the shown scene (pre-layout listener).
+        While something animates, a pulse waits for the previous frame's rendering, so the interval is the
+        frame time (16.7 ms at 60 Hz; more when rendering - e.g. the software pipeline - is the bottleneck).
+        Gaps over MAX_PULSE_GAP are idle time and are skipped. The last PULSE_SAMPLES intervals are kept;
+        pulseReport() / the HUD give p50 / p99 and the number of slow frames (over SLOW_PULSE).
+        Pulses are capped at 60 Hz; run with -Djavafx.animation.fullspeed=true to see render cost below that.
+      - Each recorded transition is also emitted as a corridor.SceneTransition JFR event (see GameEvents).
+      - All methods are meant to be called from the JavaFX Application Thread.
+*/
+
+import javafx.animation.AnimationTimer;  // FPS counter
+import javafx.application.Platform;       // deferred pulse-listener removal
+import javafx.geometry.Insets;
+import javafx.scene.*;                    // Scene, Parent
+import javafx.scene.control.Label;        // HUD text
+import javafx.scene.input.KeyCode;        // F3 toggle
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.Pane;          // scene roots the HUD is added to
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.stage.Stage;
+
+import java.util.*;                       // per-scene statistics
+import java.util.function.IntSupplier;    // live MediaPlayer count
+import java.util.function.LongConsumer;   // frame intervals (QualityController)
+import java.util.function.LongSupplier;   // FX stall count
+
+
+final class PerfMonitor {
+
+    private static final int SAMPLES_PER_SCENE = 1024;   // most recent transitions kept per scene
+    private static final long HUD_REFRESH_NANOS = 250_000_000L;
+    private static final int PULSE_SAMPLES = 4096;       // most recent pulse intervals kept
+    private static final long MAX_PULSE_GAP = 250_000_000L; // longer gaps: nothing to draw, not a frame
+    private static final long SLOW_PULSE = 25_000_000L;  // 1.5 frames at 60 Hz
+
+    private final IntSupplier livePlayers;               // e.g. AudioEngine::liveCount
+    private LongSupplier stalls = () -> 0;               // e.g. FxWatchdog::totalStalls
+    private final Map<String, SceneStats> stats = new LinkedHashMap<>();
+
+    // ------------------------
+    // Current transition
+    // ------------------------
+    private long actionNanos = 0;                        // 0 = no navigation pending
+    private volatile String currentScene = "-";          // scene on the stage now (read by FxWatchdog)
+    private String lastScene = "-";
+    private long lastTransitionNanos = 0;
+
+    // ------------------------
+    // Pulses
+    // ------------------------
+    private final long[] pulseIntervals = new long[PULSE_SAMPLES]; // ring buffer
+    private long pulses;                                 // intervals recorded
+    private long slowPulses;
+    private long lastPulse;                              // nanoTime of the previous pulse, 0 = none
+    private Scene pulseScene;                            // scene the pulse listener is registered on
+    private final Runnable onPulse = this::pulse;
+    private LongConsumer pulseListener;                  // e.g. QualityController::onPulse
+
+    // ------------------------
+    // HUD
+    // ------------------------
+    private final Label hud = new Label();
+    private boolean hudVisible;
+    private AnimationTimer hudTimer;
+    private long frames = 0;
+    private long fpsWindowStart = 0;
+    private double fps = 0;
+
+    PerfMonitor(IntSupplier livePlayers) {
+        this.livePlayers = livePlayers;
+        this.hudVisible = Boolean.getBoolean("corridor.hud");
+        hud.setMouseTransparent(true);
+        hud.setManaged(false);
+        hud.setFont(Font.font("Monospaced", 12));
+        hud.setTextFill(Color.LIMEGREEN);
+        hud.setPadding(new Insets(4, 8, 4, 8));
+        hud.setStyle("-fx-background-color: rgba(0,0,0,0.6);");
+        hud.setVisible(hudVisible);
+    }
+
+    /** Latency samples of one scene name. */
+    private static final class SceneStats {
+        final long[] totals = new long[SAMPLES_PER_SCENE]; // action -> first pulse, ring buffer
+        long count;
+        long max;
+        long buildSum;
+        long setSum;
+
+        void add(long total, long build, long set) {
+            totals[(int) (count % SAMPLES_PER_SCENE)] = total;
+            count++;
+            max = Math.max(max, total);
+            buildSum += build;
+            setSum += set;
+        }
+
+        long percentile(double p) {
+            return PerfMonitor.percentile(totals, count, p);
+        }
+    }
+
+    /** percentile(ring, count, p) - nearest-rank percentile over the samples retained in a ring buffer */
+    static long percentile(long[] ring, long count, double p) {
+        int n = (int) Math.min(count, ring.length);
+        if (n == 0) return 0;
+        long[] sorted = Arrays.copyOf(ring, n);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(p / 100.0 * n);
+        return sorted[Math.max(0, Math.min(n - 1, rank - 1))];
+    }
+
+    // ------------------------
+    // Transition timestamps
+    // ------------------------
+
+    /**
+     * action()
+     *  - marks the start of a navigation (called on entry of every show* method)
+     */
+    void action() {
+        actionNanos = System.nanoTime();
+    }
+
+    /**
+     * show(stage, sceneName, scene)
+     *  - sets the scene on the stage and records built / set / first-pulse times for sceneName
+     *  - scene switches without a preceding action() (cinematic stages) are timed from this call
+     */
+    void show(Stage stage, String sceneName, Scene scene) {
+        long built = System.nanoTime();
+        long start = actionNanos != 0 ? actionNanos : built;
+        actionNanos = 0;
+
+        attachHud(scene);
+        watchPulses(scene);
+        currentScene = sceneName;
+        stage.setScene(scene);
+        long set = System.nanoTime();
+
+        scene.addPostLayoutPulseListener(new FirstPulse(scene, sceneName, start, built, set));
+    }
+
+    /** one-shot post-layout pulse listener: records the transition, then unregisters itself */
+    private final class FirstPulse implements Runnable {
+        private final Scene scene;
+        private final String sceneName;
+        private final long start, built, set;
+        private boolean done;
+
+        FirstPulse(Scene scene, String sceneName, long start, long built, long set) {
+            this.scene = scene;
+            this.sceneName = sceneName;
+            this.start = start;
+            this.built = built;
+            this.set = set;
+        }
+
+        @Override
+        public void run() {
+            if (done) return;
+            done = true;
+            long pulse = System.nanoTime();
+            stats.computeIfAbsent(sceneName, k -> new SceneStats()).add(pulse - start, built - start, set - built);
+            GameEvents.sceneTransition(lastScene, sceneName, built - start, set - built, pulse - start);
+            lastScene = sceneName;
+            lastTransitionNanos = pulse - start;
+            // the scene is iterating its listeners right now; unregister after this pulse
+            Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+        }
+    }
+
+    /**
+     * report()
+     *  - one line per scene: transitions, action -> first pulse p50/p99/max, average build and setScene time
+     */
+    String report() {
+        StringBuilder sb = new StringBuilder("Scene transitions (action -> first pulse):\n");
+        for (Map.Entry<String, SceneStats> e : stats.entrySet()) {
+            SceneStats s = e.getValue();
+            sb.append(String.format(Locale.ROOT, "  %-14s n=%-4d p50 %7.2f ms  p99 %7.2f ms  max %7.2f ms  (build %.2f ms, setScene %.2f ms avg)%n",
+                    e.getKey(), s.count, ms(s.percentile(50)), ms(s.percentile(99)), ms(s.max),
+                    ms(s.buildSum / s.count), ms(s.setSum / s.count)));
+        }
+        return sb.toString();
+    }
+
+    // ------------------------
+    // Pulses
+    // ------------------------
+
+    /** registers the pulse listener on scene (once for the game's single Scene) */
+    private void watchPulses(Scene scene) {
+        if (scene == pulseScene) return;
+        if (pulseScene != null) pulseScene.removePreLayoutPulseListener(onPulse);
+        pulseScene = scene;
+        lastPulse = 0;
+        scene.addPreLayoutPulseListener(onPulse);
+    }
+
+    private void pulse() {
+        long now = System.nanoTime();
+        long interval = now - lastPulse;
+        if (lastPulse != 0 && interval <= MAX_PULSE_GAP) {
+            pulseIntervals[(int) (pulses % PULSE_SAMPLES)] = interval;
+            pulses++;
+            if (interval > SLOW_PULSE) slowPulses++;
+            if (pulseListener != null) pulseListener.accept(interval);
+        }
+        lastPulse = now;
+    }
+
+    /** setPulseListener(listener) - receives every recorded frame interval (nanos) */
+    void setPulseListener(LongConsumer listener) {
+        this.pulseListener = listener;
+    }
+
+    /**
+     * pulseReport()
+     *  - frame intervals while the scene was being redrawn: count, p50 / p99 / slow frames
+     */
+    String pulseReport() {
+        return String.format(Locale.ROOT, "Pulses: n=%d  interval p50 %.2f ms  p99 %.2f ms  slow (>%.0f ms) %d (%.1f%%)%n",
+                pulses, ms(percentile(pulseIntervals, pulses, 50)), ms(percentile(pulseIntervals, pulses, 99)),
+                ms(SLOW_PULSE), slowPulses, pulses == 0 ? 0.0 : 100.0 * slowPulses / pulses);
+    }
+
+    /** currentScene() - name of the scene last passed to show(); safe from any thread */
+    String currentScene() {
+        return currentScene;
+    }
+
+    /** setStallSource(stalls) - FX-thread stall counter shown on the HUD */
+    void setStallSource(LongSupplier stalls) {
+        this.stalls = stalls;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // ------------------------
+    // HUD
+    // ------------------------
+
+    /**
+     * installHud(stage)
+     *  - F3 toggles the overlay; starts the frame counter that refreshes it
+     */
+    void installHud(Stage stage) {
+        stage.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            if (e.getCode() == KeyCode.F3) {
+                setHudVisible(!hudVisible);
+                e.consume();
+            }
+        });
+        hudTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                frames++;
+                if (fpsWindowStart == 0) fpsWindowStart = now;
+                long elapsed = now - fpsWindowStart;
+                if (elapsed < HUD_REFRESH_NANOS) return;
+                fps = frames * 1e9 / elapsed;
+                frames = 0;
+                fpsWindowStart = now;
+                refreshHud();
+            }
+        };
+        setHudVisible(hudVisible);
+    }
+
+    /**
+     * setHudVisible(visible)
+     *  - the frame counter only runs while the HUD is shown (an AnimationTimer forces a pulse every frame)
+     */
+    void setHudVisible(boolean visible) {
+        hudVisible = visible;
+        hud.setVisible(visible);
+        if (hudTimer == null) return;
+        if (visible) {
+            frames = 0;
+            fpsWindowStart = 0;
+            refreshHud();
+            hudTimer.start();
+        } else {
+            hudTimer.stop();
+        }
+    }
+
+    private void refreshHud() {
+        Runtime rt = Runtime.getRuntime();
+        long usedMb = (rt.totalMemory() - rt.freeMemory()) >> 20;
+        hud.setText(String.format(Locale.ROOT, "FPS %5.1f | frame p99 %.1f ms | last %s %.1f ms | heap %d/%d MB | players %d | stalls %d",
+                fps, ms(percentile(pulseIntervals, pulses, 99)), lastScene, ms(lastTransitionNanos), usedMb,
+                rt.maxMemory() >> 20, livePlayers.getAsInt(), stalls.getAsLong()));
+        hud.autosize();
+    }
+
+    /** moves the HUD label onto the scene's root (top-left, unmanaged so layout ignores it) */
+    private void attachHud(Scene scene) {
+        Parent root = scene.getRoot();
+        if (!(root instanceof Pane)) return;
+        if (hudVisible) refreshHud();
+        hud.relocate(0, 0);
+        if (hud.getParent() == root) hud.toFront();      // same (reused) scene: keep it above the content
+        else ((Pane) root).getChildren().add(hud);       // also removes it from the previous root
+    }
+}
@@ -0,0 +1,172 @@
+/*
+    PixelCache.java
+    ---------------
+    On-disk cache of pre-decoded, pre-scaled background pixels, loaded with no image decode at all.
+
+    Layout of the cache folder (default <assets folder>/pixcache/, or -Dcorridor.pixelCache=<folder>):
+        manifest.properties       : image file name -> "<source stamp> <sha-256 of source bytes>"
+        <sha256>-<w>x<h>.bgra     : int magic 'CPXL' | int width | int height | width*height*4 bytes BGRA (premultiplied)
+        <sha256>-<w>x<h>-d<p>.bgra: the same with the background mask (p% black) already multiplied in
+
+    NOTES:
+      - Blobs are content-addressed by source hash + target size, so identical sources share one blob.
+      - A blob is only used while the manifest stamp matches AssetIndex.imageStamp (size + mtime of the
+        source); a replaced source is ignored until PixelCacheBuilder is re-run.
+      - Blobs are memory-mapped and wrapped in a JavaFX PixelBuffer, so the pixels go from the page cache
+        to the texture upload without being decoded or copied onto the heap.
+      - A dimmed blob is preferred when the game bakes the mask (GameView BAKED, the default), so baking
+        does not copy the mapped pixels onto the heap; without one the plain blob is used (and baked).
+      - Build the cache with:  >>java -cp out PixelCacheBuilder <assets folder> [cache folder] [SMALL MEDIUM LARGE]
+*/
+
+import javafx.scene.image.*;              // PixelBuffer, PixelFormat, WritableImage
+
+import java.io.*;                         // manifest read/write
+import java.nio.ByteBuffer;               // mapped pixel data
+import java.nio.channels.FileChannel;     // memory mapping
+import java.nio.file.*;                   // cache folder
+import java.util.*;                       // manifest, blob listing
+
+
+final class PixelCache {
+
+    private final Path dir;
+    private final AssetIndex assets;
+    private final Map<String, String[]> manifest;        // image name -> { stamp, sha }
+    private final Set<String> blobs;                     // blob file names present at startup
+
+    // ------------------------
+    // Counters
+    // ------------------------
+    private long hits = 0;
+    private long stale = 0;                              // manifest entry exists but source changed
+
+    private PixelCache(Path dir, AssetIndex assets, Map<String, String[]> manifest, Set<String> blobs) {
+        this.dir = dir;
+        this.assets = assets;
+        this.manifest = manifest;
+        this.blobs = blobs;
+    }
+
+    /**
+     * open(dir, assets)
+     *  - reads the manifest and lists the blobs once (call off the FX thread, e.g. Application.init)
+     *  - returns null if the folder does not exist (no cache built yet)
+     */
+    static PixelCache open(Path dir, AssetIndex assets) {
+        if (dir == null || !Files.isDirectory(dir)) return null;
+        Map<String, String[]> manifest = Format.readManifest(dir);
+        Set<String> blobs = new HashSet<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "*.bgra")) {
+            for (Path p : ds) blobs.add(p.getFileName().toString());
+        } catch (IOException ex) {
+            System.err.println("Ignoring pixel cache " + dir + " : " + ex.getMessage());
+            return null;
+        }
+        return new PixelCache(dir, assets, manifest, blobs);
+    }
+
+    // ------------------------
+    // Lookup
+    // ------------------------
+
+    /**
+     * load(fileName, w, h, dimAlpha)
+     *  - returns a ready WritableImage backed by the mapped blob for fileName at w x h
+     *  - dimAlpha > 0: the blob dimmed by that mask, as an ImageCache.Dimmed, when one was built
+     *  - returns null when there is no blob or the source changed since the cache was built
+     */
+    WritableImage load(String fileName, int w, int h, double dimAlpha) {
+        String[] entry = manifest.get(fileName);
+        if (entry == null) return null;
+        if (!entry[0].equals(assets.imageStamp(fileName))) {
+            stale++;
+            return null;
+        }
+        int dim = Format.dimPercent(dimAlpha);
+        String blob = Format.blobName(entry[1], w, h, dim);
+        if (dim > 0 && !blobs.contains(blob)) {
+            dim = 0;                                     // no dimmed blob built: the plain one gets baked
+            blob = Format.blobName(entry[1], w, h, 0);
+        }
+        if (!blobs.contains(blob)) return null;
+
+        try (FileChannel ch = FileChannel.open(dir.resolve(blob), StandardOpenOption.READ)) {
+            ByteBuffer header = ch.map(FileChannel.MapMode.READ_ONLY, 0, Format.HEADER_BYTES);
+            if (header.getInt() != Format.MAGIC || header.getInt() != w || header.getInt() != h) return null;
+
+            // mapped buffers are direct, as PixelBuffer requires
+            ByteBuffer pixels = ch.map(FileChannel.MapMode.READ_ONLY, Format.HEADER_BYTES, (long) w * h * 4);
+            PixelBuffer<ByteBuffer> pb = new PixelBuffer<>(w, h, pixels, PixelFormat.getByteBgraPreInstance());
+            hits++;
+            return dim > 0 ? new ImageCache.Dimmed(pb) : new WritableImage(pb);
+        } catch (IOException | RuntimeException ex) {
+            System.err.println("Failed to map cached pixels for " + fileName + " : " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /** stats() - blobs served and manifest entries skipped because their source changed (rebuild the cache) */
+    String stats() {
+        return "PixelCache[hits=" + hits + ", stale=" + stale + "]";
+    }
+
+    // ------------------------
+    // Format helpers (shared with PixelCacheBuilder)
+    // ------------------------
+
+    /**
+     * Format
+     *  - blob naming and manifest I/O, free of JavaFX types so the builder runs without JavaFX
+     */
+    static final class Format {
+
+        static final int MAGIC = 0x4350584C;             // "CPXL"
+        static final int HEADER_BYTES = 12;
+        static final String MANIFEST = "manifest.properties";
+
+        private Format() { }
+
+        /** blobName(sha, w, h, dimPercent) - content-addressed blob file name (dimPercent 0 = plain) */
+        static String blobName(String sha, int w, int h, int dimPercent) {
+            return sha + "-" + w + "x" + h + (dimPercent > 0 ? "-d" + dimPercent : "") + ".bgra";
+        }
+
+        /** dimPercent(alpha) - mask opacity as used in blob names (0 = no mask) */
+        static int dimPercent(double alpha) {
+            return alpha > 0 ? (int) Math.round(alpha * 100) : 0;
+        }
+
+        /**
+         * readManifest(dir)
+         *  - image name -> { stamp, sha }; empty if the manifest is missing or unreadable
+         */
+        static Map<String, String[]> readManifest(Path dir) {
+            Map<String, String[]> out = new HashMap<>();
+            Path file = dir.resolve(MANIFEST);
+            if (!Files.isRegularFile(file)) return out;
+            Properties props = new Properties();
+            try (InputStream in = Files.newInputStream(file)) {
+                props.load(in);
+            } catch (IOException ex) {
+                System.err.println("Ignoring pixel cache manifest " + file + " : " + ex.getMessage());
+                return out;
+            }
+            for (String name : props.stringPropertyNames()) {
+                String[] parts = props.getProperty(name).trim().split(" ");
+                if (parts.length == 2) out.put(name, parts);
+            }
+            return out;
+        }
+
+        static void writeManifest(Path dir, Map<String, String[]> manifest) throws IOException {
+            Properties props = new Properties();
+            for (Map.Entry<String, String[]> e : manifest.entrySet()) {
+                props.setProperty(e.getKey(), e.getValue()[0] + " " + e.getValue()[1]);
+            }
+            try (OutputStream out = Files.newOutputStream(dir.resolve(MANIFEST))) {
+                props.store(out, "PixelCache manifest: image -> source stamp + sha-256");
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+    PixelCacheBuilder.java
+    ----------------------
+    Command-line tool that fills the PixelCache with pre-decoded, pre-scaled backgrounds.
+
+    Usage:
+        >>java -cp out PixelCacheBuilder <assets folder> [cache folder] [SMALL MEDIUM LARGE] [--layered]
+        e.g. java -cp out PixelCacheBuilder C:/Java/Programe/ C:/Java/Programe/pixcache/ SMALL MEDIUM
+
+    NOTES:
+      - Uses javax.imageio + Java2D, so it runs on a headless box without starting JavaFX.
+      - Only images whose source stamp changed (or that are new) are re-hashed and re-encoded;
+        blobs no longer referenced by the manifest are deleted.
+      - Tiers default to SMALL (the 1000x700 window); see ImageCache.Tier for the sizes.
+      - Blobs are written with the background mask multiplied in (GameView BAKED, the default render mode);
+        --layered writes plain blobs for -Dcorridor.render=layered.
+*/
+
+import javax.imageio.ImageIO;            // headless JPEG/PNG decoding
+import java.awt.*;                       // scaling hints
+import java.awt.image.*;                 // premultiplied ARGB raster
+import java.io.*;                        // blob output
+import java.nio.file.*;                  // folders
+import java.security.*;                  // sha-256
+import java.util.*;                      // tiers, manifest
+import java.util.List;
+
+
+public class PixelCacheBuilder {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: java PixelCacheBuilder <assets folder> [cache folder] [SMALL MEDIUM LARGE] [--layered]");
+            System.exit(2);
+        }
+        String root = args[0].endsWith("/") ? args[0] : args[0] + "/";
+        Path cacheDir = Paths.get(root + "pixcache/");
+        List<ImageCache.Tier> tiers = new ArrayList<>();
+        int dim = PixelCache.Format.dimPercent(GameView.DIM_ALPHA);  // compile-time constant: no JavaFX loaded
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--layered")) {
+                dim = 0;
+                continue;
+            }
+            ImageCache.Tier t = tierNamed(args[i]);
+            if (t != null) tiers.add(t);
+            else if (i == 1) cacheDir = Paths.get(args[i]);  // optional cache folder comes first
+            else throw new IllegalArgumentException("Unknown tier " + args[i]);
+        }
+        if (tiers.isEmpty()) tiers.add(ImageCache.Tier.SMALL);
+
+        // same asset resolution as the game: images/ and sounds/ subfolders if present, archive if present
+        String images = Files.isDirectory(Paths.get(root + "images/")) ? root + "images/" : root;
+        String sounds = Files.isDirectory(Paths.get(root + "sounds/")) ? root + "sounds/" : root;
+        AssetPack pack = AssetPack.open(Paths.get(root + "assets.pak"));
+        if (pack != null && !AssetPack.installUrlHandler(pack)) pack = null;
+        AssetIndex assets = AssetIndex.build(images, sounds, pack, Map.of());
+
+        Files.createDirectories(cacheDir);
+        Map<String, String[]> manifest = PixelCache.Format.readManifest(cacheDir);
+        Map<String, String[]> fresh = new TreeMap<>();
+        int built = 0;
+
+        for (String name : new TreeSet<>(assets.imageNames())) {
+            String stamp = assets.imageStamp(name);
+            String[] old = manifest.get(name);
+            String sha;
+            BufferedImage decoded = null;
+
+            if (old != null && old[0].equals(stamp)) {
+                sha = old[1];                            // unchanged source: reuse its hash
+            } else {
+                byte[] bytes;
+                try (InputStream in = new java.net.URL(assets.imageUrl(name)).openStream()) {
+                    bytes = in.readAllBytes();
+                }
+                sha = sha256(bytes);
+                decoded = ImageIO.read(new ByteArrayInputStream(bytes));
+                if (decoded == null) continue;          // not an image ImageIO understands (e.g. a sound file)
+            }
+            fresh.put(name, new String[] { stamp, sha });
+
+            for (ImageCache.Tier t : tiers) {
+                Path blob = cacheDir.resolve(PixelCache.Format.blobName(sha, t.width, t.height, dim));
+                if (Files.isRegularFile(blob)) continue;
+                if (decoded == null) {
+                    try (InputStream in = new java.net.URL(assets.imageUrl(name)).openStream()) {
+                        decoded = ImageIO.read(in);
+                    }
+                    if (decoded == null) break;
+                }
+                writeBlob(blob, decoded, t.width, t.height, dim);
+                built++;
+            }
+        }
+
+        // drop blobs that no manifest entry references any more
+        Set<String> live = new HashSet<>();
+        for (String[] e : fresh.values()) {
+            for (ImageCache.Tier t : ImageCache.Tier.values()) {
+                live.add(PixelCache.Format.blobName(e[1], t.width, t.height, 0));
+                live.add(PixelCache.Format.blobName(e[1], t.width, t.height, dim));
+            }
+        }
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(cacheDir, "*.bgra")) {
+            for (Path p : ds) if (!live.contains(p.getFileName().toString())) Files.delete(p);
+        }
+
+        PixelCache.Format.writeManifest(cacheDir, fresh);
+        System.out.println("PixelCache: " + fresh.size() + " images, " + built + " blobs written to " + cacheDir);
+    }
+
+    /**
+     * writeBlob(out, src, w, h, dimPercent)
+     *  - scales src to w x h (bilinear, aspect not preserved, matching the stretched backgrounds)
+     *  - dimPercent > 0: multiplies the black mask in, like ImageCache.dimmed (opaque result)
+     *  - writes the header and premultiplied BGRA bytes expected by PixelCache
+     */
+    static void writeBlob(Path out, BufferedImage src, int w, int h, int dimPercent) throws IOException {
+        BufferedImage scaled = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(src, 0, 0, w, h, null);
+        g.dispose();
+
+        int[] argb = ((DataBufferInt) scaled.getRaster().getDataBuffer()).getData();
+        if (dimPercent > 0) {
+            int k = (int) Math.round((1.0 - dimPercent / 100.0) * 256);
+            for (int i = 0; i < argb.length; i++) {
+                int p = argb[i];
+                argb[i] = 0xFF000000 | (((((p >> 16) & 0xFF) * k) >> 8) << 16)
+                        | (((((p >> 8) & 0xFF) * k) >> 8) << 8) | (((p & 0xFF) * k) >> 8);
+            }
+        }
+        try (DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(out)))) {
+            dos.writeInt(PixelCache.Format.MAGIC);
+            dos.writeInt(w);
+            dos.writeInt(h);
+            for (int p : argb) {
+                dos.write(p);                            // B
+                dos.write(p >>> 8);                      // G
+                dos.write(p >>> 16);                     // R
+                dos.write(p >>> 24);                     // A
+            }
+        }
+    }
+
+    private static ImageCache.Tier tierNamed(String name) {
+        for (ImageCache.Tier t : ImageCache.Tier.values()) {
+            if (t.name().equalsIgnoreCase(name)) return t;
+        }
+        return null;
+    }
+
+    private static String sha256(byte[] bytes) throws NoSuchAlgorithmException {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+}
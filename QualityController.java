@@ -0,0 +1,189 @@
+/*
+    QualityController.java
+    ----------------------
+    Keeps the frame rate steady on weak (GPU-less, software-rendered) machines by trading visual quality for
+    render time, based on the frame intervals PerfMonitor measures.
+
+    Levels (each one includes the savings of the levels above it):
+        FULL        : everything on
+        NO_EFFECTS  : drop shadows off
+        NEAREST     : nearest-neighbour background scaling (setSmooth(false))
+        LOW_TIER    : backgrounds decoded one resolution tier lower
+        NO_HOVER    : hover animations skipped (the button snaps to its hover scale)
+
+    Configuration:
+        -Dcorridor.quality=auto (default) | full | no_effects | nearest | low_tier | no_hover
+                                             (a fixed level disables the automatic stepping)
+
+    NOTES:
+      - Frames are judged in windows of WINDOW_FRAMES pulses; a frame interval over MISSED_FRAME means at
+        least one frame was dropped. A window with MAX_MISSED or more missed frames steps quality down.
+      - Only continuous animation is judged. Pulses also arrive one at a time (a key typed in the answer field,
+        a hover starting) with long intervals that are idle time, not dropped frames. An interval over RUN_GAP
+        ends the run and is not counted. A run's frames count once it has MIN_RUN back-to-back intervals.
+        Idle screens therefore neither step down nor up.
+      - Stepping back up needs 'upAfter' clean windows in a row. If that step up gets a bad window within
+        PROBATION windows it is reverted and the next attempt waits twice as long (up to MAX_UP_AFTER),
+        so a machine at its limit does not flip between two levels.
+      - Every change is logged through the log callback (stdout + the event journal in the game).
+      - FX thread only (driven by the pulse listener).
+*/
+
+import java.util.Locale;
+import java.util.function.Consumer;      // change log
+
+
+final class QualityController {
+
+    enum Level {
+        FULL, NO_EFFECTS, NEAREST, LOW_TIER, NO_HOVER;
+
+        static final Level[] VALUES = values();
+
+        boolean effects() { return this.compareTo(NO_EFFECTS) < 0; }
+        boolean smoothScaling() { return this.compareTo(NEAREST) < 0; }
+        boolean lowerTier() { return this.compareTo(LOW_TIER) >= 0; }
+        boolean hoverAnimation() { return this.compareTo(NO_HOVER) < 0; }
+    }
+
+    /** applies a quality level to the game (effects, scaling, tiers, hover) */
+    interface Target {
+        void apply(Level level);
+    }
+
+    private static final int WINDOW_FRAMES = 60;                 // about one second of animation
+    private static final long MISSED_FRAME = 25_000_000L;         // 1.5 frames at 60 Hz
+    private static final int MAX_MISSED = 6;                      // 10% of a window
+    private static final int UP_AFTER = 10;                       // clean windows before trying a step up
+    private static final int MAX_UP_AFTER = 160;
+    private static final int PROBATION = 5;                       // windows a step up has to survive
+    private static final long RUN_GAP = 100_000_000L;             // longer intervals are idle time between pulses
+    private static final int MIN_RUN = 8;                         // back-to-back intervals before a run is judged
+
+    private final Target target;
+    private final Consumer<String> log;
+    private final boolean adaptive;
+    private Level level;
+
+    // ------------------------
+    // Current window
+    // ------------------------
+    private int frames;
+    private int missed;
+    private long worst;
+
+    // current run of back-to-back pulses (held back until it is MIN_RUN long)
+    private int run;
+    private int runMissed;
+    private long runWorst;
+
+    private int cleanWindows;
+    private int upAfter = UP_AFTER;
+    private int sinceStepUp = -1;                                // windows since the last step up, -1 = none pending
+    private long changes;
+
+    QualityController(Target target, Consumer<String> log, Level start, boolean adaptive) {
+        this.target = target;
+        this.log = log;
+        this.level = start;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * fromProperties(target, log)
+     *  - -Dcorridor.quality: auto (adaptive from FULL) or a fixed level name
+     */
+    static QualityController fromProperties(Target target, Consumer<String> log) {
+        String prop = System.getProperty("corridor.quality", "auto").trim();
+        if (!prop.isEmpty() && !prop.equalsIgnoreCase("auto")) {
+            try {
+                return new QualityController(target, log, Level.valueOf(prop.toUpperCase(Locale.ROOT)), false);
+            } catch (IllegalArgumentException ex) {
+                System.err.println("Ignoring invalid corridor.quality value: " + prop);
+            }
+        }
+        return new QualityController(target, log, Level.FULL, true);
+    }
+
+    /** start() - applies the initial level */
+    void start() {
+        target.apply(level);
+        log.accept("Quality " + level + (adaptive ? " (adaptive)" : " (fixed)"));
+    }
+
+    Level level() {
+        return level;
+    }
+
+    // ------------------------
+    // Pulses
+    // ------------------------
+
+    /**
+     * onPulse(intervalNanos)
+     *  - one frame interval (PerfMonitor pulse listener); evaluates a window every WINDOW_FRAMES frames
+     *  - sparse pulses (see NOTES) are skipped
+     */
+    void onPulse(long intervalNanos) {
+        if (!adaptive) return;
+        if (intervalNanos > RUN_GAP) {                    // idle gap: the run (if any) is over
+            run = 0;
+            runMissed = 0;
+            runWorst = 0;
+            return;
+        }
+        boolean miss = intervalNanos > MISSED_FRAME;
+        if (++run < MIN_RUN) {                            // not yet known to be an animation
+            if (miss) runMissed++;
+            runWorst = Math.max(runWorst, intervalNanos);
+            return;
+        }
+        if (run == MIN_RUN) {                             // it is: count the frames held back
+            frames += MIN_RUN - 1;
+            missed += runMissed;
+            worst = Math.max(worst, runWorst);
+        }
+        frames++;
+        if (miss) missed++;
+        worst = Math.max(worst, intervalNanos);
+        if (frames < WINDOW_FRAMES) return;
+
+        boolean bad = missed >= MAX_MISSED;
+        String why = String.format(Locale.ROOT, "%d/%d frames missed, worst %.1f ms", missed, frames, worst / 1e6);
+        frames = 0;
+        missed = 0;
+        worst = 0;
+
+        if (sinceStepUp >= 0) sinceStepUp++;
+        if (bad) {
+            cleanWindows = 0;
+            if (sinceStepUp >= 0 && sinceStepUp <= PROBATION) {
+                upAfter = Math.min(upAfter * 2, MAX_UP_AFTER);   // the step up did not hold: back off
+            }
+            sinceStepUp = -1;
+            if (level.ordinal() < Level.VALUES.length - 1) change(Level.VALUES[level.ordinal() + 1], why);
+            return;
+        }
+        if (sinceStepUp > PROBATION) {
+            sinceStepUp = -1;
+            upAfter = UP_AFTER;                                   // the step up held
+        }
+        if (++cleanWindows >= upAfter && level.ordinal() > 0) {
+            cleanWindows = 0;
+            sinceStepUp = 0;
+            change(Level.VALUES[level.ordinal() - 1], "headroom: " + why);
+        }
+    }
+
+    private void change(Level next, String why) {
+        Level before = level;
+        level = next;
+        changes++;
+        target.apply(next);
+        log.accept("Quality " + before + " -> " + next + " (" + why + ")");
+    }
+
+    String stats() {
+        return "QualityController[level=" + level + ", adaptive=" + adaptive + ", changes=" + changes + "]";
+    }
+}
@@ -0,0 +1,142 @@
+/*
+    SceneLifecycle.java
+    -------------------
+    Explicit enter / exit for the game's scenes (locations and cutscenes). Everything a visit starts that
+    must not outlive it is registered on the visit's Scope and released when the next scene is entered:
+
+        Scope scope = lifecycle.enter("south_door", CH_SOUTH_DOOR);  // exits the previous scope first
+        scope.after(PAUSE_MED, ...);                                  // game delay, cancelled on exit
+        scope.image("shadows.png");                                   // one-off image, evicted on exit
+        scope.onExit(cutscene::cancel);                               // anything else
+
+    NOTES:
+      - Audio: a scene lists the channels it plays. On exit the previous scene's channels are stopped unless
+        the new scene lists them too (the area music keeps playing from title to credits to hallway).
+      - Animations: game delays (the PauseTransitions behind GameClock) are owned by the scope; the shared
+        hover ScaleTransitions are stopped through the stopAnimations callback on every exit.
+      - Delays from GameClock are cancelled on exit, so a late callback can never navigate away from a scene
+        the player has already left. Registering on a scope that has exited is a no-op.
+      - There is one Scene (GameView, fit bindings made once) and cached screens, so visits hold no
+        bindings or nodes of their own; report() shows what is live so loops (Retry) can be checked for growth.
+      - FX thread only.
+*/
+
+import java.util.*;
+import java.util.function.Consumer;      // audio stop / image eviction callbacks
+
+
+final class SceneLifecycle {
+
+    private static final GameClock.Delay NONE = () -> { };
+
+    private final GameClock clock;
+    private final Consumer<String> stopChannel;          // e.g. AudioEngine::stop
+    private final Consumer<String> releaseImage;         // e.g. ImageCache::evict
+    private final Runnable stopAnimations;               // shared animations to end with every visit (hover)
+
+    private Scope current;
+    private long entered, exited, delaysCancelled, imagesReleased;
+
+    SceneLifecycle(GameClock clock, Consumer<String> stopChannel, Consumer<String> releaseImage,
+                   Runnable stopAnimations) {
+        this.clock = clock;
+        this.stopChannel = stopChannel;
+        this.releaseImage = releaseImage;
+        this.stopAnimations = stopAnimations;
+    }
+
+    /** Resources owned by one visit of a scene. */
+    final class Scope {
+        final String scene;
+        private final Set<String> channels;
+        private final List<GameClock.Delay> delays = new ArrayList<>();
+        private final Set<String> images = new LinkedHashSet<>();
+        private final List<Runnable> onExit = new ArrayList<>();
+        private boolean closed;
+
+        private Scope(String scene, Set<String> channels) {
+            this.scene = scene;
+            this.channels = channels;
+        }
+
+        /**
+         * after(seconds, action)
+         *  - GameClock delay owned by this visit: cancelled if the scene is left first
+         */
+        GameClock.Delay after(double seconds, Runnable action) {
+            if (closed) return NONE;
+            GameClock.Delay[] self = new GameClock.Delay[1];
+            self[0] = clock.after(seconds, () -> {
+                delays.remove(self[0]);
+                action.run();
+            });
+            delays.add(self[0]);
+            return self[0];
+        }
+
+        /** image(fileName) - evicted from the image cache when the visit ends (one-off images) */
+        void image(String fileName) {
+            if (fileName != null && !closed) images.add(fileName);
+        }
+
+        /** onExit(action) - runs when the visit ends (e.g. cancel a cutscene) */
+        void onExit(Runnable action) {
+            if (!closed) onExit.add(action);
+        }
+
+        private void close(Set<String> keepChannels) {
+            closed = true;
+            for (GameClock.Delay d : delays) d.cancel();
+            delaysCancelled += delays.size();
+            delays.clear();
+            for (String ch : channels) if (!keepChannels.contains(ch)) stopChannel.accept(ch);
+            for (String img : images) releaseImage.accept(img);
+            imagesReleased += images.size();
+            images.clear();
+            for (Runnable r : onExit) r.run();
+            onExit.clear();
+            stopAnimations.run();
+            exited++;
+        }
+    }
+
+    // ------------------------
+    // Enter / exit
+    // ------------------------
+
+    /**
+     * enter(scene, channels...)
+     *  - ends the current visit (see Scope) and starts one for scene, which plays the listed audio channels
+     */
+    Scope enter(String scene, String... channels) {
+        Set<String> next = new HashSet<>(Arrays.asList(channels));
+        Scope previous = current;
+        current = new Scope(scene, next);
+        entered++;
+        if (previous != null) previous.close(next);
+        return current;
+    }
+
+    /** current() - the visit in progress (null before the first scene) */
+    Scope current() {
+        return current;
+    }
+
+    /** close() - ends the current visit (application exit) */
+    void close() {
+        if (current != null) current.close(Collections.emptySet());
+        current = null;
+    }
+
+    /**
+     * report()
+     *  - scene visits entered / exited, what the current one holds, and the totals released so far
+     */
+    String report() {
+        return "SceneLifecycle[scene=" + (current != null ? current.scene : "-")
+                + ", entered=" + entered + ", exited=" + exited + ", live=" + (entered - exited)
+                + ", pendingDelays=" + (current != null ? current.delays.size() : 0)
+                + ", ownedImages=" + (current != null ? current.images.size() : 0)
+                + ", delaysCancelled=" + delaysCancelled + ", imagesReleased=" + imagesReleased + "]";
+    }
+}
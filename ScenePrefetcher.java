@@ -0,0 +1,137 @@
+/*
+    ScenePrefetcher.java
+    --------------------
+    Builds screens the player can reach next on a background thread, so the click that goes there only has
+    to swap in a finished node tree.
+
+    Usage (FX thread):
+        prefetcher.prefetch("hallway", this::buildHallway);   // while mansion_in is on screen
+        ...
+        T ready = prefetcher.take("hallway");                 // on the click: finished tree or null
+
+    NOTES:
+      - Builders run on one daemon thread ("scene-prefetch"). They may only create detached nodes and read
+        state that does not change meanwhile; anything touching the live scene graph stays on the FX thread.
+      - take() never blocks: a build that has not finished yet is cancelled and the caller builds inline
+        ("late"); a key that was never prefetched is a "miss".
+      - Work that finished but was never taken is reported as unused (wasted) by stats().
+      - prefetch() / take() / stats() are FX-thread only.
+*/
+
+import java.util.*;
+import java.util.concurrent.*;            // executor, futures
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;       // screen builders
+
+
+final class ScenePrefetcher<T> {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "scene-prefetch");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);              // never compete with the FX thread
+        return t;
+    });
+
+    private final Map<String, Future<T>> pending = new HashMap<>();
+    private final Map<Future<T>, AtomicLong> buildNanos = new HashMap<>(); // set by the build before it completes
+    private final List<Future<T>> discarded = new ArrayList<>();           // cancelled late builds
+
+    // ------------------------
+    // Metrics (FX thread)
+    // ------------------------
+    private long submitted, hits, late, misses, failures;
+    private long hitNanos;                               // background build time that was put to use
+
+    /**
+     * prefetch(key, builder)
+     *  - starts building key in the background unless it is already pending
+     *  - the caller skips keys it has already built (see take())
+     */
+    void prefetch(String key, Supplier<T> builder) {
+        if (pending.containsKey(key)) return;
+        AtomicLong took = new AtomicLong();
+        FutureTask<T> task = new FutureTask<>(() -> {
+            long t0 = System.nanoTime();
+            try {
+                return builder.get();
+            } finally {
+                took.set(System.nanoTime() - t0);
+            }
+        });
+        pending.put(key, task);
+        buildNanos.put(task, took);
+        submitted++;
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException ex) {        // shut down
+            pending.remove(key);
+            buildNanos.remove(task);
+            submitted--;
+        }
+    }
+
+    /**
+     * take(key)
+     *  - the prefetched result for key if its build has finished, otherwise null (build it inline)
+     *  - an unfinished build is cancelled; a failed one is logged and counted
+     */
+    T take(String key) {
+        Future<T> f = pending.remove(key);
+        if (f == null) {
+            misses++;
+            return null;
+        }
+        if (!f.isDone()) {
+            f.cancel(false);                             // a running build finishes but is discarded
+            discarded.add(f);
+            late++;
+            return null;
+        }
+        AtomicLong nanos = buildNanos.remove(f);
+        try {
+            T result = f.get();
+            hits++;
+            hitNanos += nanos.get();
+            return result;
+        } catch (ExecutionException ex) {
+            failures++;
+            System.err.println("Prefetch of '" + key + "' failed : " + ex.getCause());
+            return null;
+        } catch (InterruptedException | CancellationException ex) {
+            return null;
+        }
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ------------------------
+    // Stats
+    // ------------------------
+
+    /**
+     * stats()
+     *  - hit rate = hits / (hits + late + misses) over every take()
+     *  - wasted = builds that were cancelled late, or finished and are still untaken
+     */
+    String stats() {
+        long unused = 0;
+        long unusedNanos = 0;
+        for (Future<T> f : pending.values()) {
+            if (f.isDone()) {
+                unused++;
+                unusedNanos += buildNanos.get(f).get();
+            }
+        }
+        long lateNanos = 0;
+        for (Future<T> f : discarded) lateNanos += buildNanos.get(f).get();
+        long takes = hits + late + misses;
+        return String.format(Locale.ROOT,
+                "ScenePrefetcher[submitted=%d, hits=%d, late=%d, misses=%d, failed=%d, hitRate=%.1f%%, unused=%d, "
+                        + "usedBuild=%.1fms, wastedBuild=%.1fms]",
+                submitted, hits, late, misses, failures, takes == 0 ? 0.0 : 100.0 * hits / takes, unused,
+                hitNanos / 1e6, (unusedNanos + lateNanos) / 1e6);
+    }
+}
@@ -0,0 +1,143 @@
+/*
+    SfxBank.java
+    ------------
+    In-memory sound effects (AudioClip) for short stings such as sound_7 (blackouts, puzzle-fails, lock-stanza).
+
+    NOTES:
+      - Each cue is decoded into memory once; play() only triggers the already-loaded clip,
+        so there is no native MediaPlayer pipeline to build and no churn on repeated failures.
+      - A one-shot cue can overlap itself (AudioClip supports concurrent playback); a looping cue that is
+        already sounding is not started again, otherwise every trigger would add another endless voice.
+      - At most 'polyphony' voices (one per trigger) sound at once; when the limit is reached the cue of the
+        oldest voice is cut. AudioClip.stop() has no per-voice handle, so that stops all voices of that cue.
+      - The timing in stats() is the cost of the AudioClip.play() call, not the time until sound is heard.
+      - All methods are meant to be called from the JavaFX Application Thread.
+*/
+
+import javafx.scene.media.AudioClip;      // low-latency, fully buffered sound effect
+
+import java.io.File;                      // cue source file
+import java.util.*;                       // cue registry, trigger order
+
+
+final class SfxBank {
+
+    // ------------------------
+    // Configuration
+    // ------------------------
+    private static final int DEFAULT_POLYPHONY = 4;      // voices allowed to sound at once
+
+    private final int polyphony;
+
+    // ------------------------
+    // Cue registry
+    // ------------------------
+    private final Map<String, AudioClip> clips = new HashMap<>();
+    private final Deque<String> voices = new ArrayDeque<>(); // cue of each sounding voice, oldest trigger first
+
+    // ------------------------
+    // Counters
+    // ------------------------
+    private long triggers = 0;
+    private long voicesStolen = 0;
+    private long lastCallNanos = 0;                      // time spent inside the last AudioClip.play() call
+    private long maxCallNanos = 0;
+
+    SfxBank(int polyphony) {
+        this.polyphony = Math.max(1, polyphony);
+    }
+
+    SfxBank() {
+        this(DEFAULT_POLYPHONY);
+    }
+
+    /**
+     * load(cue, file, loop)
+     *  - decodes file into memory once under the name 'cue'; loop==true repeats until stop(cue)
+     *  - returns false if the clip could not be created (unsupported format, unreadable file)
+     */
+    boolean load(String cue, File file, boolean loop) {
+        if (clips.containsKey(cue)) return true;
+        try {
+            AudioClip clip = new AudioClip(file.toURI().toString());
+            clip.setCycleCount(loop ? AudioClip.INDEFINITE : 1);
+            clips.put(cue, clip);
+            return true;
+        } catch (Exception ex) {
+            System.err.println("Failed to create AudioClip for " + file.getName() + " : " + ex.getMessage());
+            return false;
+        }
+    }
+
+    // ------------------------
+    // Playback
+    // ------------------------
+
+    /**
+     * play(cue)
+     *  - triggers the cue; a one-shot cue that is already sounding overlaps with itself,
+     *    a looping cue that is already sounding is left alone
+     *  - when 'polyphony' voices are sounding, the cue of the oldest voice is cut first
+     */
+    void play(String cue) {
+        AudioClip clip = clips.get(cue);
+        if (clip == null) return;
+        if (clip.getCycleCount() == AudioClip.INDEFINITE && clip.isPlaying()) return;
+
+        pruneFinished();
+        while (voices.size() >= polyphony) {
+            String oldest = voices.peekFirst();
+            int before = voices.size();
+            stop(oldest);
+            voicesStolen += before - voices.size();
+        }
+
+        long t0 = System.nanoTime();
+        clip.play();
+        long spent = System.nanoTime() - t0;
+
+        voices.addLast(cue);
+        triggers++;
+        lastCallNanos = spent;
+        maxCallNanos = Math.max(maxCallNanos, spent);
+    }
+
+    /**
+     * stop(cue)
+     *  - stops every playing voice of the cue
+     */
+    void stop(String cue) {
+        AudioClip clip = clips.get(cue);
+        if (clip != null) clip.stop();
+        voices.removeIf(cue::equals);
+    }
+
+    boolean isPlaying(String cue) {
+        AudioClip clip = clips.get(cue);
+        return clip != null && clip.isPlaying();
+    }
+
+    void stopAll() {
+        for (AudioClip clip : clips.values()) clip.stop();
+        voices.clear();
+    }
+
+    /** drops the voices of cues that have finished on their own */
+    private void pruneFinished() {
+        voices.removeIf(c -> !isPlaying(c));
+    }
+
+    // ------------------------
+    // Stats
+    // ------------------------
+
+    /**
+     * stats()
+     *  - one-line summary for logs; playCall is the time spent inside AudioClip.play() (call cost only,
+     *    AudioClip reports no start event, so the actual start latency of a cue is not measured)
+     */
+    String stats() {
+        return String.format("SfxBank[cues=%d, voices=%d, triggers=%d, stolen=%d, lastPlayCall=%.3fms, maxPlayCall=%.3fms]",
+                clips.size(), voices.size(), triggers, voicesStolen, lastCallNanos / 1e6, maxCallNanos / 1e6);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+    UiKit.java
+    ----------
+    Shared look of the game UI: one stylesheet with style classes instead of inline -fx-* strings, and a small
+    component factory for buttons.
+
+    Style classes:
+        .game-root              : the GameView root (black behind the background image)
+        .game-button            : dark translucent button, white bold text, grey border (every screen)
+        .game-button.ending     : black, rounded variant (final death screen)
+
+    NOTES:
+      - The stylesheet is parsed once per run and shared by the Scene (install()); nodes only carry class
+        names. (JavaFX 17 already caches a parsed inline style per distinct string, so the build cost is
+        about the same as before - see bench UiBenchmarks.endingScreen*; the gain is one place for the look.)
+      - It is embedded as a data: URL (JavaFX 17+), so no .css resource has to be copied next to the classes.
+      - Ending buttons share one DropShadow and one hover handler; the hover ScaleTransitions come from a
+        small pool and go back to it when they finish, instead of four transitions per button.
+      - Ending buttons are cached with CacheHint.SCALE: the hover animation scales the rendered bitmap and
+        only the button's dirty region is repainted, without re-rendering the shadow every frame.
+      - Quality switches (QualityController): setEffects(false) removes the shadow from every ending button
+        (bound, so existing screens follow); setHoverAnimation(false) makes hover snap instead of animate.
+      - Factory methods may run on the prefetch thread (detached nodes); hover handling is FX thread only.
+*/
+
+import javafx.animation.ScaleTransition; // hover animation
+import javafx.beans.binding.Bindings;      // quality switch -> button effect
+import javafx.beans.property.*;
+import javafx.event.EventHandler;
+import javafx.scene.CacheHint;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.effect.DropShadow;    // shared button shadow
+import javafx.scene.effect.Effect;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.util.Duration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;                       // transition pool, Base64
+
+
+final class UiKit {
+
+    private UiKit() { }
+
+    static final String ROOT = "game-root";
+    static final String BUTTON = "game-button";
+    static final String ENDING = "ending";
+
+    private static final String CSS = String.join("\n",
+            ".game-root {",
+            "    -fx-background-color: black;",
+            "}",
+            ".game-button {",
+            "    -fx-font-size: 14px;",
+            "    -fx-background-color: rgba(0,0,0,0.75);",
+            "    -fx-text-fill: white;",
+            "    -fx-font-weight: bold;",
+            "    -fx-padding: 6 12 6 12;",
+            "    -fx-border-color: #666;",
+            "    -fx-border-width: 1;",
+            "}",
+            ".game-button.ending {",
+            "    -fx-background-color: black;",
+            "    -fx-background-radius: 6;",
+            "    -fx-border-radius: 6;",
+            "}");
+
+    /** the stylesheet as a URL for Scene.getStylesheets() */
+    static final String STYLESHEET = "data:text/css;base64,"
+            + Base64.getEncoder().encodeToString(CSS.getBytes(StandardCharsets.UTF_8));
+
+    private static final double HOVER_SCALE = 0.96;
+    private static final Duration HOVER_TIME = Duration.millis(120);
+
+    /** one shadow for every ending button (effects can be shared between nodes) */
+    private static final DropShadow SHADOW = new DropShadow();
+    static {
+        SHADOW.setRadius(6);
+        SHADOW.setOffsetY(2);
+        SHADOW.setColor(Color.color(0, 0, 0, 0.5));
+    }
+
+    private static final Hover HOVER = new Hover();
+
+    // quality switches (FX thread)
+    private static final BooleanProperty EFFECTS = new SimpleBooleanProperty(true);
+    private static boolean hoverAnimation = true;
+
+    // ------------------------
+    // Factory
+    // ------------------------
+
+    /** install(scene) - adds the game stylesheet to scene (once) */
+    static void install(Scene scene) {
+        if (!scene.getStylesheets().contains(STYLESHEET)) scene.getStylesheets().add(STYLESHEET);
+    }
+
+    /** style(b) - marks b as a game button (idempotent) */
+    static void style(Button b) {
+        if (!b.getStyleClass().contains(BUTTON)) b.getStyleClass().add(BUTTON);
+    }
+
+    /** button(text) - a styled game button */
+    static Button button(String text) {
+        Button b = new Button(text);
+        b.getStyleClass().add(BUTTON);
+        return b;
+    }
+
+    /**
+     * endingButton(text, rounded)
+     *  - game button with the shared drop shadow and the shrink-on-hover animation
+     *  - rounded: the black, rounded variant of the death screen
+     */
+    static Button endingButton(String text, boolean rounded) {
+        Button b = button(text);
+        if (rounded) b.getStyleClass().add(ENDING);
+        b.effectProperty().bind(Bindings.when(EFFECTS).then((Effect) SHADOW).otherwise((Effect) null));
+        b.setCache(true);                                // hover scales the cached bitmap (shadow included)
+        b.setCacheHint(CacheHint.SCALE);
+        b.addEventHandler(MouseEvent.MOUSE_ENTERED, HOVER);
+        b.addEventHandler(MouseEvent.MOUSE_EXITED, HOVER);
+        return b;
+    }
+
+    // ------------------------
+    // Quality switches
+    // ------------------------
+
+    /** setEffects(on) - shows / removes the drop shadow on every ending button */
+    static void setEffects(boolean on) {
+        EFFECTS.set(on);
+    }
+
+    /** stopHoverAnimations() - ends running hover animations (the screen they run on is being left) */
+    static void stopHoverAnimations() {
+        HOVER.stopAll();
+    }
+
+    /** setHoverAnimation(on) - off: hover sets the scale at once (one repaint instead of an animation) */
+    static void setHoverAnimation(boolean on) {
+        hoverAnimation = on;
+    }
+
+    // ------------------------
+    // Hover animation
+    // ------------------------
+
+    /** Shared MOUSE_ENTERED / MOUSE_EXITED handler scaling the button with a pooled ScaleTransition. */
+    private static final class Hover implements EventHandler<MouseEvent> {
+        private static final Object RUNNING = new Object();   // node property key: its running transition
+        private final ArrayDeque<ScaleTransition> pool = new ArrayDeque<>();
+        private final List<ScaleTransition> running = new ArrayList<>();
+
+        @Override
+        public void handle(MouseEvent e) {
+            Node node = (Node) e.getSource();
+            double to = e.getEventType() == MouseEvent.MOUSE_ENTERED ? HOVER_SCALE : 1.0;
+
+            Object previous = node.getProperties().get(RUNNING);
+            if (previous instanceof ScaleTransition) {
+                ((ScaleTransition) previous).stop();        // stop() does not fire onFinished
+                release((ScaleTransition) previous);
+            }
+            if (!hoverAnimation) {
+                node.setScaleX(to);
+                node.setScaleY(to);
+                return;
+            }
+
+            ScaleTransition st = pool.poll();
+            if (st == null) {
+                ScaleTransition created = new ScaleTransition(HOVER_TIME);
+                created.setOnFinished(ev -> release(created));
+                st = created;
+            }
+            st.setNode(node);
+            st.setToX(to);
+            st.setToY(to);
+            node.getProperties().put(RUNNING, st);
+            running.add(st);
+            st.playFromStart();
+        }
+
+        void stopAll() {
+            for (ScaleTransition st : new ArrayList<>(running)) {
+                st.stop();
+                Node node = st.getNode();
+                if (node != null) {                          // cached screens come back unscaled
+                    node.setScaleX(1.0);
+                    node.setScaleY(1.0);
+                }
+                release(st);
+            }
+        }
+
+        private void release(ScaleTransition st) {
+            running.remove(st);
+            Node node = st.getNode();
+            if (node != null && node.getProperties().get(RUNNING) == st) node.getProperties().remove(RUNNING);
+            st.setNode(null);
+            pool.push(st);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+    BenchMain.java
+    --------------
+    Entry point of target/benchmarks.jar: the standard JMH command line with the gc profiler always
+    attached, so every result reports allocation rate (gc.alloc.rate.norm = bytes per operation)
+    next to time.
+
+    Usage:
+        >>java -jar target/benchmarks.jar [JMH options] [benchmark regex]
+*/
+
+package corridor.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+public class BenchMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListProfilers() || cli.shouldListResultFormats()
+                || cli.shouldListWithParams()) {
+            org.openjdk.jmh.Main.main(args);             // informational modes: plain JMH behaviour
+            return;
+        }
+        OptionsBuilder opts = new OptionsBuilder();
+        opts.parent(cli);
+        boolean hasGc = cli.getProfilers().stream()
+                .anyMatch(p -> p.getKlass().equals("gc") || p.getKlass().equals(GCProfiler.class.getName()));
+        if (!hasGc) opts.addProfiler(GCProfiler.class);
+        new Runner(opts.build()).run();
+    }
+}
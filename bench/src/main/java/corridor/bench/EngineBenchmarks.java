@@ -0,0 +1,89 @@
+/*
+    EngineBenchmarks.java
+    ---------------------
+    Game-rule hot paths without JavaFX: the doSolve answer check, single state transitions and a whole
+    winning playthrough on GameEngine / GameState.
+
+    NOTES:
+      - Transitions are expected to allocate nothing; watch gc.alloc.rate.norm (bytes/op) for regressions.
+*/
+
+package corridor.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmarks {
+
+    private Object engine;
+    private Object room1;
+    private Object answerWrong;
+    private Object[] winningRun;                         // START .. TRY_SOUTH_DOOR, every room solved
+    private long hallwayState;                           // pendant taken, standing in the hallway
+
+    public String typed = " o ";                         // non-final: keeps the answer check from folding
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        engine = GameBridge.NEW_ENGINE.invokeExact();
+        room1 = GameBridge.room("ROOM_1");
+        answerWrong = GameBridge.action("ANSWER_WRONG");
+        String[] names = { "START", "APPROACH", "TAKE_PENDANT", "ENTER_ROOM_1", "ANSWER_RIGHT", "ENTER_STORAGE",
+                "ANSWER_RIGHT", "ENTER_STUDY", "ANSWER_RIGHT", "TRY_SOUTH_DOOR" };
+        winningRun = new Object[names.length];
+        for (int i = 0; i < names.length; i++) winningRun[i] = GameBridge.action(names[i]);
+
+        for (int i = 0; i < 3; i++) GameBridge.STEP.invoke(engine, winningRun[i]); // result not needed
+        hallwayState = (long) GameBridge.STATE_BITS.invokeExact((Object) GameBridge.ENGINE_STATE.invokeExact(engine));
+    }
+
+    // ------------------------
+    // doSolve answer check
+    // ------------------------
+
+    @Benchmark
+    public boolean answerCheck() throws Throwable {
+        return (boolean) GameBridge.IS_CORRECT.invokeExact(room1, typed);
+    }
+
+    @Benchmark
+    public Object answerRightFromHallwayState() throws Throwable {
+        GameBridge.LOAD_STATE.invokeExact(engine, hallwayState);
+        return (Object) GameBridge.ANSWER_TEXT.invokeExact(engine, room1, typed);
+    }
+
+    // ------------------------
+    // State transitions
+    // ------------------------
+
+    @Benchmark
+    public Object wrongAnswerStep(Blackhole bh) throws Throwable {
+        GameBridge.LOAD_STATE.invokeExact(engine, hallwayState);
+        bh.consume((Object) GameBridge.STEP.invokeExact(engine, winningRun[3]));
+        return (Object) GameBridge.STEP.invokeExact(engine, answerWrong);
+    }
+
+    @Benchmark
+    public Object winningPlaythrough() throws Throwable {
+        Object last = null;
+        for (Object a : winningRun) last = (Object) GameBridge.STEP.invokeExact(engine, a);
+        return last;
+    }
+
+    @Benchmark
+    public long packedTransitions() throws Throwable {
+        long s = GameBridge.INITIAL_STATE;
+        s = (long) GameBridge.WITH_SOLVED.invokeExact(s, room1);
+        int p = (int) GameBridge.PENDANT.invokeExact(s);
+        return (long) GameBridge.WITH_PENDANT.invokeExact(s, p - 1);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+    FxHeadless.java
+    ---------------
+    Starts the JavaFX toolkit once per benchmark JVM without a display (Monocle headless platform,
+    software pipeline), so controls, scenes and images can be created by the benchmarks.
+
+    NOTES:
+      - onFx(body) runs code that shares state with FX-thread listeners (e.g. ImageCache, whose decode
+        listeners update its map on the FX thread) on the FX thread and waits for the result.
+*/
+
+package corridor.bench;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+
+final class FxHeadless {
+
+    private static boolean started = false;
+
+    private FxHeadless() { }
+
+    /**
+     * start()
+     *  - selects Monocle/headless + software rendering unless already configured, then starts the toolkit
+     *  - safe to call from every @Setup; only the first call does anything
+     */
+    static synchronized void start() throws InterruptedException {
+        if (started) return;
+        defaultProperty("glass.platform", "Monocle");
+        defaultProperty("monocle.platform", "Headless");
+        defaultProperty("prism.order", "sw");
+        defaultProperty("prism.verbose", "false");
+
+        CountDownLatch ready = new CountDownLatch(1);
+        Platform.startup(ready::countDown);
+        Platform.setImplicitExit(false);
+        if (!ready.await(30, TimeUnit.SECONDS)) throw new IllegalStateException("JavaFX toolkit did not start");
+        started = true;
+    }
+
+    /** body of onFx; may throw anything a MethodHandle does */
+    interface FxCall<T> {
+        T call() throws Throwable;
+    }
+
+    /**
+     * onFx(body)
+     *  - runs body on the FX thread and returns its result (rethrows what it threw)
+     *  - includes one Platform.runLater hop in what the caller measures
+     */
+    static <T> T onFx(FxCall<T> body) throws Throwable {
+        if (Platform.isFxApplicationThread()) return body.call();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(body.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        try {
+            return result.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static void defaultProperty(String key, String value) {
+        if (System.getProperty(key) == null) System.setProperty(key, value);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+    GameBridge.java
+    ---------------
+    Access from the corridor.bench package to the game classes, which live in the default package.
+
+    NOTES:
+      - Java cannot import default-package classes from a named package (and JMH refuses benchmarks in
+        the default package), so the game's private helpers are reached through MethodHandles resolved
+        once at class init and kept in static finals; the JIT inlines invokeExact through them.
+      - Default-package types appear as Object in the handle signatures; JavaFX types stay typed.
+      - Asset folder: -Dcorridor.assets=<folder>, defaulting to the game folder above bench/.
+*/
+
+package corridor.bench;
+
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.VBox;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+
+final class GameBridge {
+
+    static {
+        if (System.getProperty("corridor.assets") == null) System.setProperty("corridor.assets", "../");
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    // ------------------------
+    // Game classes
+    // ------------------------
+    static final Class<?> APP = load("CorridorAdventure");
+    static final Class<?> ENGINE = load("GameEngine");
+    static final Class<?> STATE = load("GameState");
+    static final Class<?> ROOM = load("GameEngine$Room");
+    static final Class<?> ACTION = load("GameEngine$Action");
+    static final Class<?> IMAGE_CACHE = load("ImageCache");
+    static final Class<?> ASSET_INDEX = load("AssetIndex");
+    static final Class<?> PIXEL_CACHE = load("PixelCache");
+    static final Class<?> VIEW = load("GameView");
+    static final Class<?> UI_KIT = load("UiKit");
+
+    // ------------------------
+    // CorridorAdventure (UI helpers)
+    // ------------------------
+    static final MethodHandle INIT_TOP_BAR_WIDGETS = method(APP, "initTopBarWidgets", void.class, Object.class);
+    static final MethodHandle BUILD_TOP_BAR = method(APP, "buildTopBar",
+            VBox.class, Object.class, boolean.class, Label.class);
+    static final MethodHandle UPDATE_INVENTORY = method(APP, "updateInventoryUI", void.class, Object.class);
+    static final MethodHandle STYLE_BUTTON = method(APP, "styleButton", void.class, Object.class, Button.class);
+    static final MethodHandle BUILD_DEATH_FINAL = method(APP, "buildDeathFinal", BorderPane.class, Object.class);
+    static final MethodHandle LOAD_IMAGE = method(APP, "loadImage", Image.class, Object.class, String.class);
+    static final MethodHandle APP_ENGINE = getter(APP, "engine");
+    static final MethodHandle APP_ASSETS = getter(APP, "assets");
+    static final MethodHandle SET_IMAGE_CACHE = setter(APP, "imageCache");
+
+    // ------------------------
+    // GameView (the shared Scene)
+    // ------------------------
+    static final MethodHandle NEW_VIEW = constructor(VIEW, double.class, double.class);
+    static final MethodHandle VIEW_SHOW = method(VIEW, "show", void.class, Object.class, Image.class, String.class, Parent.class);
+
+    // ------------------------
+    // UiKit (shared stylesheet)
+    // ------------------------
+    static final String STYLESHEET = (String) staticValue(UI_KIT, "STYLESHEET");
+
+    // ------------------------
+    // Engine / state
+    // ------------------------
+    static final MethodHandle NEW_ENGINE = constructor(ENGINE);
+    static final MethodHandle STEP = method(ENGINE, "step", Object.class, Object.class, Object.class);
+    static final MethodHandle LOAD_STATE = method(ENGINE, "load", void.class, Object.class, long.class);
+    static final MethodHandle ANSWER_TEXT = method(ENGINE, "answer", Object.class, Object.class, Object.class, String.class);
+    static final MethodHandle IS_CORRECT = staticMethod(ENGINE, "isCorrect", boolean.class, Object.class, String.class);
+    static final MethodHandle ENGINE_STATE = method(ENGINE, "state", Object.class, Object.class);
+    static final MethodHandle STATE_BITS = method(STATE, "bits", long.class, Object.class);
+    static final MethodHandle WITH_SOLVED = staticMethod(STATE, "withSolved", long.class, long.class, Object.class);
+    static final MethodHandle WITH_PENDANT = staticMethod(STATE, "withPendant", long.class, long.class, int.class);
+    static final MethodHandle PENDANT = staticMethod(STATE, "pendant", int.class, long.class);
+    static final long INITIAL_STATE = staticLong(STATE, "INITIAL");
+
+    // ------------------------
+    // ImageCache
+    // ------------------------
+    static final MethodHandle NEW_IMAGE_CACHE = constructor(IMAGE_CACHE, ASSET_INDEX, PIXEL_CACHE, long.class);
+
+    private GameBridge() { }
+
+    /** newApp() - a CorridorAdventure instance after Application.init() (asset index, caches, audio engine) */
+    static Object newApp() throws Exception {
+        Object app = APP.getConstructor().newInstance();
+        APP.getMethod("init").invoke(app);
+        return app;
+    }
+
+    /** action(name) / room(name) - enum constants of the game's vocabulary */
+    static Object action(String name) { return enumConstant(ACTION, name); }
+    static Object room(String name) { return enumConstant(ROOM, name); }
+
+    // ------------------------
+    // Reflection helpers
+    // ------------------------
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private static Object enumConstant(Class<?> type, String name) {
+        for (Object c : type.getEnumConstants()) if (((Enum<?>) c).name().equals(name)) return c;
+        throw new IllegalArgumentException(type.getName() + "." + name);
+    }
+
+    /** method(owner, name, ret, receiver, params...) - instance method, receiver erased to Object */
+    private static MethodHandle method(Class<?> owner, String name, Class<?> ret, Class<?>... erased) {
+        MethodHandle mh = unreflect(owner, name, Arrays.copyOfRange(erased, 1, erased.length));
+        return mh.asType(MethodType.methodType(ret, erased));
+    }
+
+    private static MethodHandle staticMethod(Class<?> owner, String name, Class<?> ret, Class<?>... erased) {
+        MethodHandle mh = unreflect(owner, name, erased);
+        return mh.asType(MethodType.methodType(ret, erased));
+    }
+
+    /** unreflect(owner, name, params) - the overload whose parameters match params (Object = any reference type) */
+    private static MethodHandle unreflect(Class<?> owner, String name, Class<?>[] params) {
+        try {
+            for (Method m : owner.getDeclaredMethods()) {
+                if (m.getName().equals(name) && !m.isSynthetic() && matches(m.getParameterTypes(), params)) {
+                    m.setAccessible(true);
+                    return LOOKUP.unreflect(m);
+                }
+            }
+            throw new NoSuchMethodException(owner.getName() + "." + name + Arrays.toString(params));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private static boolean matches(Class<?>[] actual, Class<?>[] erased) {
+        if (actual.length != erased.length) return false;
+        for (int i = 0; i < actual.length; i++) {
+            boolean ok = erased[i] == Object.class ? !actual[i].isPrimitive() : erased[i] == actual[i];
+            if (!ok) return false;
+        }
+        return true;
+    }
+
+    private static MethodHandle constructor(Class<?> owner, Class<?>... params) {
+        try {
+            Constructor<?> c = owner.getDeclaredConstructor(params);
+            c.setAccessible(true);
+            return LOOKUP.unreflectConstructor(c).asType(MethodType.methodType(Object.class, erase(params)));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private static Class<?>[] erase(Class<?>[] params) {
+        Class<?>[] out = params.clone();
+        for (int i = 0; i < out.length; i++) if (!out[i].isPrimitive()) out[i] = Object.class;
+        return out;
+    }
+
+    private static MethodHandle getter(Class<?> owner, String field) {
+        try {
+            Field f = owner.getDeclaredField(field);
+            f.setAccessible(true);
+            return LOOKUP.unreflectGetter(f).asType(MethodType.methodType(Object.class, Object.class));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private static MethodHandle setter(Class<?> owner, String field) {
+        try {
+            Field f = owner.getDeclaredField(field);
+            f.setAccessible(true);
+            return LOOKUP.unreflectSetter(f).asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private static Object staticValue(Class<?> owner, String field) {
+        try {
+            Field f = owner.getDeclaredField(field);
+            f.setAccessible(true);
+            return f.get(null);
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private static long staticLong(Class<?> owner, String field) {
+        try {
+            Field f = owner.getDeclaredField(field);
+            f.setAccessible(true);
+            return f.getLong(null);
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+}
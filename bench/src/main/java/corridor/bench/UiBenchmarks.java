@@ -0,0 +1,231 @@
+/*
+    UiBenchmarks.java
+    -----------------
+    Screen hot paths of CorridorAdventure: swapping a built screen into the shared GameView, buildTopBar,
+    updateInventoryUI (unchanged state / one changed line), styleButton, the death ending screen with CSS applied
+    (shared stylesheet vs. the former inline styles) and loadImage (warm hit, cold miss, cold miss until decoded).
+
+    NOTES:
+      - Runs on the JMH thread against the headless toolkit: the nodes are never attached to a shown
+        Stage, which JavaFX allows off the FX thread, and those numbers exclude Platform.runLater hops.
+      - Everything touching the ImageCache (loadImage*, swapScreen) runs on the FX thread through
+        FxHeadless.onFx: the cache's decode listeners change its map there, so calling it from the JMH
+        thread would race. Those scores include one runLater hop (compare them with each other).
+      - loadImage cold uses a fresh ImageCache per invocation, so each call takes the miss path;
+        "coldDecoded" also waits for the background decode to finish (time to pixels).
+      - endingScreen* build the screen, put it into a Scene carrying the game stylesheet and run applyCss(),
+        so the score includes CSS processing; endingScreenInline rebuilds it the way the game did before
+        (inline style strings, a DropShadow and four ScaleTransitions per screen) as the baseline.
+*/
+
+package corridor.bench;
+
+import javafx.animation.ScaleTransition;
+import javafx.geometry.Pos;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.image.Image;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.util.Duration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw" })
+public class UiBenchmarks {
+
+    @Param({ "hallway.jpg" })
+    public String image;
+
+    private Object app;
+    private Object view;
+    private final BorderPane[] screens = { new BorderPane(), new BorderPane() };
+    private int next;
+    private Object engine;
+    private final long[] pendantStates = new long[2];    // differ only in the pendant number
+    private final StackPane cssHost = new StackPane();   // root of a Scene carrying the game stylesheet
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        FxHeadless.start();
+        app = GameBridge.newApp();
+        // the inventory panel is created in start(), which the benchmarks do not run
+        GameBridge.INIT_TOP_BAR_WIDGETS.invokeExact(app);
+        view = GameBridge.NEW_VIEW.invokeExact(1000.0, 700.0);
+        engine = GameBridge.APP_ENGINE.invokeExact(app);
+        pendantStates[0] = (long) GameBridge.WITH_PENDANT.invokeExact(GameBridge.INITIAL_STATE, 3);
+        pendantStates[1] = (long) GameBridge.WITH_PENDANT.invokeExact(GameBridge.INITIAL_STATE, 2);
+        new Scene(cssHost, 1000, 700).getStylesheets().add(GameBridge.STYLESHEET);
+    }
+
+    // ------------------------
+    // Scene & chrome
+    // ------------------------
+
+    /** revisiting a location: cached image + cached overlay swapped into the one Scene (alternates two screens) */
+    @Benchmark
+    public void swapScreen() throws Throwable {
+        next ^= 1;
+        Parent screen = screens[next];
+        FxHeadless.onFx(() -> {
+            Image bg = (Image) GameBridge.LOAD_IMAGE.invokeExact(app, image);
+            GameBridge.VIEW_SHOW.invokeExact(view, bg, image, screen);
+            return null;
+        });
+    }
+
+    @Benchmark
+    public VBox buildTopBar() throws Throwable {
+        return (VBox) GameBridge.BUILD_TOP_BAR.invokeExact(app, true, new Label("bench"));
+    }
+
+    @Benchmark
+    public void updateInventoryUI() throws Throwable {
+        GameBridge.UPDATE_INVENTORY.invokeExact(app);
+    }
+
+    /** the pendant number changes on every call: only the pendant line gets new text */
+    @Benchmark
+    public void updateInventoryChanged() throws Throwable {
+        next ^= 1;
+        GameBridge.LOAD_STATE.invokeExact(engine, pendantStates[next]);
+        GameBridge.UPDATE_INVENTORY.invokeExact(app);
+    }
+
+    @Benchmark
+    public Button styleButton() throws Throwable {
+        Button b = new Button("Bench");
+        GameBridge.STYLE_BUTTON.invokeExact(app, b);
+        return b;
+    }
+
+    /** death ending screen from the component factory (style classes, shared shadow and hover handler) */
+    @Benchmark
+    public Parent endingScreenStyled() throws Throwable {
+        BorderPane screen = (BorderPane) GameBridge.BUILD_DEATH_FINAL.invokeExact(app);
+        cssHost.getChildren().setAll(screen);
+        screen.applyCss();
+        return screen;
+    }
+
+    /** baseline: the same screen as the game built it before the shared stylesheet */
+    @Benchmark
+    public Parent endingScreenInline() {
+        BorderPane screen = inlineEndingScreen();
+        cssHost.getChildren().setAll(screen);
+        screen.applyCss();
+        return screen;
+    }
+
+    private static BorderPane inlineEndingScreen() {
+        Label endText = new Label("The door never opens. The mansion exhales its last breath, and you are swallowed "
+                + "in silence...\n\n \t\t\t\t\t\t\t--- Ending: Death ---");
+        endText.setWrapText(true);
+        endText.setTextFill(Color.web("#ff3333"));
+        endText.setFont(Font.font("Serif", 20));
+        Button retry = new Button("Retry");
+        Button exit = new Button("    Exit   ");
+        String style = "-fx-font-size: 14px;" + "-fx-background-color: black;" + "-fx-text-fill: white;"
+                + "-fx-font-weight: bold;" + "-fx-padding: 6 12 6 12;" + "-fx-border-color: #666;"
+                + "-fx-border-width: 1;" + "-fx-background-radius: 6;" + "-fx-border-radius: 6;";
+        DropShadow ds = new DropShadow();
+        ds.setRadius(6);
+        ds.setOffsetY(2);
+        ds.setColor(Color.color(0, 0, 0, 0.5));
+        retry.setOnAction(e -> System.out.println("retry"));
+        exit.setOnAction(e -> System.out.println("exit"));
+        for (Button b : new Button[] { retry, exit }) {
+            b.setStyle(style);
+            b.setEffect(ds);
+            ScaleTransition in = new ScaleTransition(Duration.millis(120), b);
+            in.setToX(0.96);
+            in.setToY(0.96);
+            ScaleTransition out = new ScaleTransition(Duration.millis(120), b);
+            out.setToX(1.0);
+            out.setToY(1.0);
+            b.setOnMouseEntered(e -> { out.stop(); in.playFromStart(); });
+            b.setOnMouseExited(e -> { in.stop(); out.playFromStart(); });
+        }
+        VBox vbox = new VBox(20, endText, retry, exit);
+        vbox.setAlignment(Pos.CENTER);
+        BorderPane screen = new BorderPane();
+        screen.setCenter(vbox);
+        return screen;
+    }
+
+    // ------------------------
+    // Images
+    // ------------------------
+
+    @Benchmark
+    public Image loadImageWarm() throws Throwable {
+        return FxHeadless.onFx(() -> (Image) GameBridge.LOAD_IMAGE.invokeExact(app, image));
+    }
+
+    /**
+     * ColdApp
+     *  - its own game instance whose ImageCache is replaced by an empty one before every call,
+     *    so every loadImage below is a miss
+     *  - (JMH hands a separate UiBenchmarks instance to dependent states, hence its own app)
+     */
+    @State(Scope.Thread)
+    public static class ColdApp {
+        Object app;
+        private Object assets;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Throwable {
+            FxHeadless.start();
+            app = GameBridge.newApp();
+            assets = GameBridge.APP_ASSETS.invokeExact(app);
+        }
+
+        @Setup(Level.Invocation)
+        public void emptyCache() throws Throwable {
+            FxHeadless.onFx(() -> {
+                Object cache = GameBridge.NEW_IMAGE_CACHE.invokeExact(assets, (Object) null, 64L * 1024 * 1024);
+                GameBridge.SET_IMAGE_CACHE.invokeExact(app, cache);
+                return null;
+            });
+        }
+    }
+
+    @Benchmark
+    public Image loadImageCold(ColdApp cold) throws Throwable {
+        return FxHeadless.onFx(() -> (Image) GameBridge.LOAD_IMAGE.invokeExact(cold.app, image));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Image loadImageColdDecoded(ColdApp cold) throws Throwable {
+        // progress is observed on the FX thread, where the decode reports it
+        CompletableFuture<Image> decoded = FxHeadless.onFx(() -> {
+            CompletableFuture<Image> done = new CompletableFuture<>();
+            Image img = (Image) GameBridge.LOAD_IMAGE.invokeExact(cold.app, image);
+            if (img == null || img.getProgress() >= 1.0 || img.isError()) {
+                done.complete(img);
+            } else {
+                img.progressProperty().addListener((obs, oldV, newV) -> {
+                    if (newV.doubleValue() >= 1.0) done.complete(img);
+                });
+                img.errorProperty().addListener((obs, oldV, newV) -> done.complete(img));
+            }
+            return done;
+        });
+        return decoded.get();
+    }
+}